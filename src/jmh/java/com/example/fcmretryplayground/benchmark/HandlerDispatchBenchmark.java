@@ -0,0 +1,47 @@
+package com.example.fcmretryplayground.benchmark;
+
+import com.example.fcmretryplayground.domain.notification.handler.ExampleNotificationHandler;
+import com.example.fcmretryplayground.domain.notification.handler.ExamplePayload;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationCommand;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationHandlerRegistry;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import com.example.fcmretryplayground.domain.notification.handler.Recipient;
+import com.example.fcmretryplayground.domain.notification.handler.Sender;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 이벤트 1건을 NotificationCommand 로 변환하는 비용 (핸들러 조회 + handle).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandlerDispatchBenchmark {
+
+    private NotificationHandlerRegistry registry;
+    private ExamplePayload payload;
+
+    @Setup
+    public void setUp() {
+        registry = new NotificationHandlerRegistry(List.of(new ExampleNotificationHandler()));
+        payload = new ExamplePayload(new Sender(1L, "sender"), List.of(new Recipient(1L, "recipient")));
+    }
+
+    @Benchmark
+    public NotificationCommand dispatch() {
+        return registry.get(NotificationType.EXAMPLE_ALARM, payload).handle(NotificationType.EXAMPLE_ALARM, payload);
+    }
+}
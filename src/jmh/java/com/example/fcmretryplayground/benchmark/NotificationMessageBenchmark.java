@@ -0,0 +1,81 @@
+package com.example.fcmretryplayground.benchmark;
+
+import com.example.fcmretryplayground.application.notification.NotificationDelivery;
+import com.example.fcmretryplayground.application.notification.NotificationService;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView;
+import com.example.fcmretryplayground.domain.notification.DeviceType;
+import com.example.fcmretryplayground.domain.notification.NotificationContent;
+import com.example.fcmretryplayground.domain.notification.NotificationLog;
+import com.example.fcmretryplayground.domain.notification.NotificationPayload;
+import com.example.fcmretryplayground.domain.notification.NotificationStatus;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import com.example.fcmretryplayground.domain.notification.handler.Recipient;
+import com.example.fcmretryplayground.domain.notification.handler.RecipientIds;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 수신자 1명당 수행되는 메시지 생성 비용.
+ * - createDelivery : Message 생성 (collapse key 포함)
+ * - hashPayload : 로그마다 MESSAGE JSON 을 직렬화하던 것을 대신하는 payload 해시 (알림 1건당 1회)
+ * - joinRecipientIds : outbox / fan-out 에 수신자를 기록하는 비용
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationMessageBenchmark {
+
+    private static final int RECIPIENTS = 1000;
+
+    private NotificationService notificationService;
+    private DeviceFcmTokenView deviceFcmToken;
+    private NotificationContent content;
+    private NotificationLog notificationLog;
+    private List<Recipient> recipients;
+
+    @Setup
+    public void setUp() {
+        // createDelivery 는 협력 객체를 사용하지 않는다.
+        notificationService = new NotificationService(null, null, null, null, null, null, null, null, null);
+        deviceFcmToken = new DeviceFcmTokenView(1L, "f".repeat(163), DeviceType.ANDROID, true);
+        content = NotificationContent.from(NotificationType.EXAMPLE_ALARM);
+        notificationLog = NotificationLog.record(1L, UUID.randomUUID().toString(), 1L, "payloadHash", null,
+                NotificationStatus.READY);
+        recipients = new ArrayList<>(RECIPIENTS);
+        for (long id = 1; id <= RECIPIENTS; id++) {
+            recipients.add(new Recipient(id, null));
+        }
+    }
+
+    @Benchmark
+    public NotificationDelivery createDelivery() {
+        return notificationService.createDelivery(deviceFcmToken, content, notificationLog);
+    }
+
+    @Benchmark
+    public String hashPayload() {
+        return NotificationPayload.hashOf(content);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public String joinRecipientIds() {
+        return RecipientIds.join(recipients);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.fcmretryplayground.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.fcmretryplayground.application.notification.FcmClient;
+import com.example.fcmretryplayground.application.notification.NotificationService;
+import com.example.fcmretryplayground.application.notification.SendMode;
+import com.example.fcmretryplayground.application.notification.circuitbreaker.FcmCircuitBreaker;
+import com.example.fcmretryplayground.application.notification.idempotency.InMemoryNotificationSendGuard;
+import com.example.fcmretryplayground.application.notification.metrics.NotificationMetrics;
+import com.example.fcmretryplayground.application.notification.ratelimit.UnlimitedFcmRateLimiter;
+import com.example.fcmretryplayground.application.notification.retry.RetryQueueType;
+import com.example.fcmretryplayground.application.notification.retry.TimingWheelRetryQueue;
+import com.example.fcmretryplayground.config.FcmCircuitBreakerProperties;
+import com.example.fcmretryplayground.config.NotificationLogWriterProperties;
+import com.example.fcmretryplayground.config.NotificationRetryProperties;
+import com.example.fcmretryplayground.config.NotificationSendGuardProperties;
+import com.example.fcmretryplayground.config.NotificationSendGuardProperties.GuardBackend;
+import com.example.fcmretryplayground.config.NotificationSendProperties;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenCache;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenInvalidationBuffer;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView;
+import com.example.fcmretryplayground.domain.notification.DeviceType;
+import com.example.fcmretryplayground.domain.notification.NotificationLogIdGenerator;
+import com.example.fcmretryplayground.domain.notification.NotificationLogService;
+import com.example.fcmretryplayground.domain.notification.NotificationLogWriter;
+import com.example.fcmretryplayground.domain.notification.NotificationPayloadStore;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationCommand;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import com.example.fcmretryplayground.domain.notification.handler.Recipient;
+import com.example.fcmretryplayground.domain.notification.handler.Sender;
+import com.google.api.core.ApiFutures;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * 수신자 1,000명에게 보내는 send() 전체 비용. 결과는 수신자 1명 기준 ops/s 이다.
+ * 수신 토큰 조회와 FirebaseMessaging 은 stub 으로 대체하고, 로그 기록은 H2(MySQL 모드) 에 실제로 수행한다.
+ * FirebaseMessaging 은 mockStatic 으로 대체하므로 측정 스레드에서만 유효하다. (Scope.Thread)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NotificationSendBenchmark {
+
+    private static final int RECIPIENTS = 1000;
+
+    @Param({"SINGLE", "BATCH", "PIPELINED"})
+    private SendMode mode;
+
+    private HikariDataSource dataSource;
+    private MockedStatic<FirebaseMessaging> firebaseMessagingMock;
+    private NotificationLogWriter notificationLogWriter;
+    private NotificationService notificationService;
+    private List<Recipient> recipients;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:notification-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        NotificationLogWriterProperties writerProperties = new NotificationLogWriterProperties(500,
+                Duration.ofSeconds(1), 0, Duration.ofSeconds(30), Duration.ofSeconds(10));
+        notificationLogWriter = new NotificationLogWriter(jdbcTemplate, transactionManager, writerProperties);
+        NotificationLogService notificationLogService = new NotificationLogService(notificationLogWriter,
+                new NotificationLogIdGenerator(writerProperties.nodeId()),
+                new NotificationPayloadStore(jdbcTemplate, transactionManager));
+
+        List<DeviceFcmTokenView> deviceFcmTokens = new ArrayList<>(RECIPIENTS);
+        recipients = new ArrayList<>(RECIPIENTS);
+        for (long id = 1; id <= RECIPIENTS; id++) {
+            deviceFcmTokens.add(new DeviceFcmTokenView(id, "fcm-token-" + id,
+                    id % 2 == 0 ? DeviceType.ANDROID : DeviceType.IOS, true));
+            recipients.add(new Recipient(id, null));
+        }
+        DeviceFcmTokenCache deviceFcmTokenCache = mock(DeviceFcmTokenCache.class);
+        when(deviceFcmTokenCache.findDeliverableTokens(anyList())).thenReturn(deviceFcmTokens);
+
+        firebaseMessagingMock = Mockito.mockStatic(FirebaseMessaging.class);
+        FirebaseMessaging firebaseMessaging = mock(FirebaseMessaging.class);
+        firebaseMessagingMock.when(FirebaseMessaging::getInstance).thenReturn(firebaseMessaging);
+        try {
+            BatchResponse batchResponse = successResponse(NotificationSendProperties.FCM_MAX_BATCH_SIZE);
+            when(firebaseMessaging.send(any(Message.class))).thenReturn("projects/benchmark/messages/1");
+            when(firebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(batchResponse);
+            when(firebaseMessaging.sendAsync(any(Message.class)))
+                    .thenReturn(ApiFutures.immediateFuture("projects/benchmark/messages/1"));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+
+        NotificationMetrics metrics = new NotificationMetrics(new SimpleMeterRegistry());
+        notificationService = new NotificationService(notificationLogService, deviceFcmTokenCache,
+                mock(DeviceFcmTokenInvalidationBuffer.class),
+                new NotificationSendProperties(mode, NotificationSendProperties.FCM_MAX_BATCH_SIZE),
+                new TimingWheelRetryQueue(100, 512, System.currentTimeMillis()),
+                new NotificationRetryProperties(RetryQueueType.IN_MEMORY, 2, Duration.ofSeconds(5), 2.0,
+                        Duration.ofMillis(100), 500, Duration.ofMillis(100), 512, 4),
+                new FcmClient(0, 0, new UnlimitedFcmRateLimiter(), new FcmCircuitBreaker(
+                        new FcmCircuitBreakerProperties(false, Duration.ofSeconds(10), 10, 0.5, 20,
+                                Duration.ofSeconds(30), 3)), metrics),
+                new InMemoryNotificationSendGuard(new NotificationSendGuardProperties(true, GuardBackend.IN_MEMORY,
+                        Duration.ofMinutes(1), Duration.ofHours(24), 100_000)), metrics);
+    }
+
+    // 전송 성공 상태를 반영한 뒤 로그를 비워 iteration 마다 같은 테이블 크기에서 측정한다.
+    @TearDown(Level.Iteration)
+    public void clearLogs() {
+        notificationLogWriter.flush();
+        new JdbcTemplate(dataSource).execute("TRUNCATE TABLE NOTIFICATION_LOG");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        firebaseMessagingMock.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void send() {
+        // 발행마다 notificationId 가 새로 생성되어 중복 전송 방지에 걸리지 않는다.
+        notificationService.send(new NotificationCommand(new Sender(1L, "sender"), recipients,
+                NotificationType.EXAMPLE_ALARM));
+    }
+
+    private static BatchResponse successResponse(int size) {
+        SendResponse sendResponse = mock(SendResponse.class);
+        when(sendResponse.isSuccessful()).thenReturn(true);
+        BatchResponse batchResponse = mock(BatchResponse.class);
+        when(batchResponse.getResponses()).thenReturn(Collections.nCopies(size, sendResponse));
+        when(batchResponse.getSuccessCount()).thenReturn(size);
+        when(batchResponse.getFailureCount()).thenReturn(0);
+        return batchResponse;
+    }
+}
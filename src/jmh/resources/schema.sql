@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS NOTIFICATION_PAYLOAD (
+    PAYLOAD_HASH VARCHAR(64) PRIMARY KEY,
+    TITLE        VARCHAR(255),
+    BODY         VARCHAR(2000)
+);
+
+CREATE TABLE IF NOT EXISTS NOTIFICATION_LOG (
+    NOTIFICATION_LOG_ID        BIGINT PRIMARY KEY,
+    NOTIFICATION_ID            VARCHAR(64),
+    USER_NOTIFICATION_TOKEN_ID BIGINT,
+    TOPIC                      VARCHAR(255),
+    PAYLOAD_HASH               VARCHAR(64),
+    ERROR_CODE                 VARCHAR(64),
+    NOTIFICATION_STATUS        VARCHAR(32),
+    COUNT                      INT,
+    CLAIMED_AT                 TIMESTAMP
+);
@@ -1,9 +1,7 @@
 package com.example.fcmretryplayground;
 
-import com.example.fcmretryplayground.domain.notification.DeviceFcmToken;
-import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenRepository;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenService;
 import com.example.fcmretryplayground.domain.notification.DeviceType;
-import com.example.fcmretryplayground.domain.notification.FcmTokenStatus;
 import com.example.fcmretryplayground.domain.user.User;
 import com.example.fcmretryplayground.domain.user.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -14,13 +12,12 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class SetupMockData {
     private final UserRepository userRepository;
-    private final DeviceFcmTokenRepository deviceFcmTokenRepository;
+    private final DeviceFcmTokenService deviceFcmTokenService;
 
     @Transactional
     public void execute() {
         User user = userRepository.save(User.create("sonny123@test.com"));
-        deviceFcmTokenRepository.save(
-                DeviceFcmToken.create(user, true, "mockFcmToken", FcmTokenStatus.ACTIVE, DeviceType.IOS));
+        deviceFcmTokenService.register(user, "mockFcmToken", DeviceType.IOS, true);
     }
 
 }
@@ -0,0 +1,257 @@
+package com.example.fcmretryplayground.application.notification;
+
+import com.example.fcmretryplayground.application.notification.circuitbreaker.FcmCircuitBreaker;
+import com.example.fcmretryplayground.application.notification.metrics.NotificationMetrics;
+import com.example.fcmretryplayground.application.notification.metrics.NotificationMetrics.FcmOperation;
+import com.example.fcmretryplayground.application.notification.ratelimit.FcmRateLimiter;
+import com.example.fcmretryplayground.common.FcmCircuitOpenException;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
+import com.google.firebase.messaging.TopicManagementResponse;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * FirebaseMessaging 호출을 감싸는 클라이언트.
+ * - 서킷이 열려 있으면 FCM 을 호출하지 않고 FcmCircuitOpenException 으로 즉시 실패한다.
+ * - 모든 전송은 FcmRateLimiter 에서 전송 허용량을 확보한 뒤 수행하고, 응답 결과로 전송 속도를 조정한다.
+ * - maxInFlightCalls 가 0 보다 크면 동시에 진행 중인 FCM 요청 수를 세마포어로 제한한다.
+ *   (가상 스레드 모드에서는 스레드 수가 제한되지 않으므로 이 값으로 FCM 동시 호출 수를 제어한다)
+ * - sendAsync 는 응답을 기다리지 않으므로 허용량을 응답을 받을 때 반환하며, maxInFlightCalls 가 곧 파이프라인 창 크기가 된다.
+ * - 동시 요청 수 중 reservedShare 만큼은 HIGH 우선순위 전용으로 예약하여, NORMAL 대량 발송이 허용량을 모두 차지해도 HIGH 는 기다리지 않는다.
+ */
+public class FcmClient {
+
+    private final InFlightLimit inFlightLimit;
+    // reservedShare 가 0 이면 null 이고, HIGH 도 inFlightLimit 을 사용한다.
+    private final InFlightLimit reservedInFlightLimit;
+    private final FcmRateLimiter rateLimiter;
+    private final FcmCircuitBreaker circuitBreaker;
+    private final NotificationMetrics metrics;
+
+    public FcmClient(int maxInFlightCalls, double reservedShare, FcmRateLimiter rateLimiter,
+                     FcmCircuitBreaker circuitBreaker, NotificationMetrics metrics) {
+        int reservedCalls = maxInFlightCalls > 0 && reservedShare > 0
+                ? Math.max(1, (int) Math.round(maxInFlightCalls * reservedShare)) : 0;
+        this.inFlightLimit = new InFlightLimit(maxInFlightCalls > 0
+                ? Math.max(1, maxInFlightCalls - reservedCalls) : 0);
+        this.reservedInFlightLimit = reservedCalls > 0 ? new InFlightLimit(reservedCalls) : null;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+    }
+
+    public String send(Message message, NotificationPriority priority) throws FirebaseMessagingException {
+        return execute(FcmOperation.SEND, priority, 1, messaging -> messaging.send(message),
+                response -> CallResult.SUCCESS);
+    }
+
+    /**
+     * 응답을 기다리지 않고 전송한다. 진행 중인 요청이 maxInFlightCalls 에 도달하면 앞선 요청의 응답이 올 때까지 대기한다.
+     * 지표, 전송 속도 조정, 서킷 기록은 응답을 받은 스레드에서 처리한 뒤 반환한 future 를 완료한다.
+     */
+    public ApiFuture<String> sendAsync(Message message, NotificationPriority priority) {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new FcmCircuitOpenException();
+        }
+        InFlightLimit limit = inFlightLimitFor(priority);
+        try {
+            rateLimiter.acquire(1, priority);
+            limit.acquire(1);
+        } catch (RuntimeException e) {
+            circuitBreaker.record(1, 0);
+            throw e;
+        }
+        long startNanos = System.nanoTime();
+        ApiFuture<String> future;
+        try {
+            future = FirebaseMessaging.getInstance().sendAsync(message);
+        } catch (RuntimeException e) {
+            completeAsync(limit, startNanos, false, null);
+            throw e;
+        }
+        ApiFutures.addCallback(future, new ApiFutureCallback<>() {
+            @Override
+            public void onSuccess(String response) {
+                completeAsync(limit, startNanos, true, null);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                completeAsync(limit, startNanos, false,
+                        t instanceof FirebaseMessagingException e ? e.getMessagingErrorCode() : null);
+            }
+        }, MoreExecutors.directExecutor());
+        return future;
+    }
+
+    // sendEach 는 메시지마다 개별 HTTP 요청을 보내므로 메시지 수만큼 (최대 maxInFlightCalls) 허용량을 사용한다.
+    public BatchResponse sendEach(List<Message> messages, NotificationPriority priority)
+            throws FirebaseMessagingException {
+        return execute(FcmOperation.SEND_EACH, priority, messages.size(), messaging -> messaging.sendEach(messages),
+                this::inspect);
+    }
+
+    // FCM 이 메시지와 토큰을 검증만 하고 기기에 전달하지 않는다. (토큰 점검용)
+    public BatchResponse sendEachDryRun(List<Message> messages) throws FirebaseMessagingException {
+        return execute(FcmOperation.SEND_EACH_DRY_RUN, NotificationPriority.NORMAL, messages.size(), messaging -> messaging.sendEach(messages, true),
+                this::inspect);
+    }
+
+    public BatchResponse sendEachForMulticast(MulticastMessage message, int tokenCount, NotificationPriority priority)
+            throws FirebaseMessagingException {
+        return execute(FcmOperation.SEND_EACH_FOR_MULTICAST, priority, tokenCount,
+                messaging -> messaging.sendEachForMulticast(message), this::inspect);
+    }
+
+    // topic 구독 변경은 토큰 수와 관계없이 요청 1건으로 허용량을 사용한다.
+    public TopicManagementResponse subscribeToTopic(List<String> registrationTokens, String topic)
+            throws FirebaseMessagingException {
+        return execute(FcmOperation.SUBSCRIBE_TO_TOPIC, NotificationPriority.NORMAL, 1,
+                messaging -> messaging.subscribeToTopic(registrationTokens, topic), response -> CallResult.SUCCESS);
+    }
+
+    public TopicManagementResponse unsubscribeFromTopic(List<String> registrationTokens, String topic)
+            throws FirebaseMessagingException {
+        return execute(FcmOperation.UNSUBSCRIBE_FROM_TOPIC, NotificationPriority.NORMAL, 1,
+                messaging -> messaging.unsubscribeFromTopic(registrationTokens, topic), response -> CallResult.SUCCESS);
+    }
+
+    private <T> T execute(FcmOperation operation, NotificationPriority priority, int messageCount, FcmCall<T> call,
+                          Function<T, CallResult> inspector) throws FirebaseMessagingException {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new FcmCircuitOpenException();
+        }
+        int transientFailures = 0;
+        try {
+            rateLimiter.acquire(messageCount, priority);
+            InFlightLimit limit = inFlightLimitFor(priority);
+            int permits = limit.permitsFor(messageCount);
+            limit.acquire(permits);
+            long startNanos = System.nanoTime();
+            boolean success = false;
+            try {
+                T response = call.call(FirebaseMessaging.getInstance());
+                success = true;
+                CallResult result = inspector.apply(response);
+                transientFailures = result.transientFailures();
+                if (result.throttled()) {
+                    rateLimiter.onThrottled();
+                } else {
+                    rateLimiter.onSuccess();
+                }
+                return response;
+            } catch (FirebaseMessagingException e) {
+                MessagingErrorCode code = e.getMessagingErrorCode();
+                if (isThrottled(code)) {
+                    rateLimiter.onThrottled();
+                }
+                transientFailures = FcmCircuitBreaker.isTransientFailure(code) ? messageCount : 0;
+                throw e;
+            } finally {
+                metrics.recordFcmCall(operation, success, System.nanoTime() - startNanos);
+                limit.release(permits);
+            }
+        } finally {
+            circuitBreaker.record(messageCount, transientFailures);
+        }
+    }
+
+    // 오류 코드가 없는 실패(네트워크 오류 등)는 일시적 장애로 본다.
+    private void completeAsync(InFlightLimit limit, long startNanos, boolean success, MessagingErrorCode code) {
+        metrics.recordFcmCall(FcmOperation.SEND_ASYNC, success, System.nanoTime() - startNanos);
+        limit.release(1);
+        if (success) {
+            rateLimiter.onSuccess();
+            circuitBreaker.record(1, 0);
+            return;
+        }
+        if (isThrottled(code)) {
+            rateLimiter.onThrottled();
+        }
+        circuitBreaker.record(1, FcmCircuitBreaker.isTransientFailure(code) ? 1 : 0);
+    }
+
+    private CallResult inspect(BatchResponse batchResponse) {
+        if (batchResponse.getFailureCount() == 0) {
+            return CallResult.SUCCESS;
+        }
+        boolean throttled = false;
+        int transientFailures = 0;
+        for (SendResponse response : batchResponse.getResponses()) {
+            if (response.isSuccessful()) {
+                continue;
+            }
+            MessagingErrorCode code = response.getException().getMessagingErrorCode();
+            throttled |= isThrottled(code);
+            if (FcmCircuitBreaker.isTransientFailure(code)) {
+                transientFailures++;
+            }
+        }
+        return new CallResult(throttled, transientFailures);
+    }
+
+    // FCM 이 할당량 초과 또는 과부하를 알리는 오류
+    private boolean isThrottled(MessagingErrorCode code) {
+        return code == MessagingErrorCode.QUOTA_EXCEEDED || code == MessagingErrorCode.UNAVAILABLE;
+    }
+
+    private InFlightLimit inFlightLimitFor(NotificationPriority priority) {
+        return priority == NotificationPriority.HIGH && reservedInFlightLimit != null
+                ? reservedInFlightLimit : inFlightLimit;
+    }
+
+    // capacity 가 0 이면 동시 요청 수를 제한하지 않는다.
+    private static class InFlightLimit {
+
+        private final int capacity;
+        private final Semaphore permits;
+
+        private InFlightLimit(int capacity) {
+            this.capacity = capacity;
+            this.permits = capacity > 0 ? new Semaphore(capacity, true) : null;
+        }
+
+        private int permitsFor(int requestCount) {
+            return Math.max(1, Math.min(requestCount, capacity));
+        }
+
+        private void acquire(int count) {
+            if (permits == null) {
+                return;
+            }
+            try {
+                permits.acquire(count);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("FCM 동시 호출 허용량 대기 중 인터럽트 발생", e);
+            }
+        }
+
+        private void release(int count) {
+            if (permits != null) {
+                permits.release(count);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface FcmCall<T> {
+        T call(FirebaseMessaging messaging) throws FirebaseMessagingException;
+    }
+
+    private record CallResult(boolean throttled, int transientFailures) {
+        private static final CallResult SUCCESS = new CallResult(false, 0);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.fcmretryplayground.application.notification;
+
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView;
+import com.example.fcmretryplayground.domain.notification.NotificationContent;
+import com.example.fcmretryplayground.domain.notification.NotificationLog;
+import com.google.firebase.messaging.Message;
+
+// 배치 전송 시 BatchResponse 의 SendResponse 를 순서대로 매핑하기 위한 전송 단위
+public record NotificationDelivery(
+        DeviceFcmTokenView deviceFcmToken,
+        NotificationContent content,
+        Message message,
+        NotificationLog notificationLog
+) {
+}
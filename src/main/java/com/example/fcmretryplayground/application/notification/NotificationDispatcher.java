@@ -0,0 +1,73 @@
+package com.example.fcmretryplayground.application.notification;
+
+import com.example.fcmretryplayground.application.notification.coalescing.NotificationCoalescingBuffer;
+import com.example.fcmretryplayground.application.notification.fanout.NotificationFanOutPublisher;
+import com.example.fcmretryplayground.application.notification.idempotency.NotificationSendGuard;
+import com.example.fcmretryplayground.application.notification.idempotency.SendPermit;
+import com.example.fcmretryplayground.config.NotificationCoalescingProperties;
+import com.example.fcmretryplayground.config.NotificationFanOutProperties;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationCommand;
+import com.example.fcmretryplayground.domain.notification.handler.Recipient;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 발행된 NotificationCommand 를 이 노드에서 바로 전송하거나, fan-out 모드에서는 Redis Stream 으로 나누어 모든 노드에 분배한다.
+ * topic 전송은 수신자와 관계없이 FCM 호출 1건이므로 나누지 않는다.
+ * coalescing 대상 NotificationType 은 바로 전송하지 않고 사용자별로 모아 window 가 끝나면 요약 알림 1건으로 전송한다.
+ * outbox / fan-out 이 같은 NotificationCommand 를 다시 전달해도 중복 전송 방지 가드로 (notificationId, 사용자) 당 한 번만 모은다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+
+    private final NotificationService notificationService;
+    private final NotificationFanOutPublisher fanOutPublisher;
+    private final NotificationFanOutProperties fanOutProperties;
+    private final NotificationCoalescingBuffer coalescingBuffer;
+    private final NotificationCoalescingProperties coalescingProperties;
+    private final NotificationSendGuard sendGuard;
+
+    public void dispatch(NotificationCommand command) {
+        if (coalescingProperties.coalesces(command.type())) {
+            coalesce(command);
+            return;
+        }
+        if (fanOutProperties.enabled() && !command.type().isBroadcast()) {
+            fanOutPublisher.publish(command);
+            return;
+        }
+        notificationService.send(command);
+    }
+
+    private void coalesce(NotificationCommand command) {
+        List<Long> userIds = command.recipients().stream().map(Recipient::getId).distinct().toList();
+        List<SendPermit> permits = sendGuard.acquire(coalescingKeys(command, userIds));
+        List<Long> acquired = new ArrayList<>(userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            if (permits.get(i) == SendPermit.ACQUIRED) {
+                acquired.add(userIds.get(i));
+            }
+        }
+        long dueAtMillis = coalescingProperties.windowEnd(System.currentTimeMillis());
+        int added = 0;
+        try {
+            for (Long userId : acquired) {
+                coalescingBuffer.add(command.type(), userId, command.notificationId(), dueAtMillis);
+                added++;
+            }
+        } finally {
+            // 버퍼에 넣은 사용자만 완료로 표시하고, 넣지 못한 사용자는 해제해 다시 전달되면 모을 수 있도록 한다.
+            sendGuard.markSent(coalescingKeys(command, acquired.subList(0, added)));
+            sendGuard.release(coalescingKeys(command, acquired.subList(added, acquired.size())));
+        }
+    }
+
+    private List<String> coalescingKeys(NotificationCommand command, List<Long> userIds) {
+        return userIds.stream()
+                .map(userId -> NotificationSendGuard.coalescingKey(command.notificationId(), userId))
+                .toList();
+    }
+}
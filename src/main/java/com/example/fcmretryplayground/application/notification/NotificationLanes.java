@@ -0,0 +1,35 @@
+package com.example.fcmretryplayground.application.notification;
+
+import com.example.fcmretryplayground.config.NotificationExecutorConfig;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * NotificationType 우선순위별 전송 실행기.
+ * HIGH 알림은 priorityNotificationExecutor 에서 전송하므로 대량 발송 작업이 쌓인 notificationExecutor 큐 뒤에서 기다리지 않는다.
+ */
+@Component
+public class NotificationLanes {
+
+    private final AsyncTaskExecutor notificationExecutor;
+    private final AsyncTaskExecutor priorityNotificationExecutor;
+
+    public NotificationLanes(@Qualifier(NotificationExecutorConfig.NOTIFICATION_EXECUTOR)
+                             AsyncTaskExecutor notificationExecutor,
+                             @Qualifier(NotificationExecutorConfig.PRIORITY_NOTIFICATION_EXECUTOR)
+                             AsyncTaskExecutor priorityNotificationExecutor) {
+        this.notificationExecutor = notificationExecutor;
+        this.priorityNotificationExecutor = priorityNotificationExecutor;
+    }
+
+    public AsyncTaskExecutor executorFor(NotificationType type) {
+        return executorFor(type.getPriority());
+    }
+
+    public AsyncTaskExecutor executorFor(NotificationPriority priority) {
+        return priority == NotificationPriority.HIGH ? priorityNotificationExecutor : notificationExecutor;
+    }
+}
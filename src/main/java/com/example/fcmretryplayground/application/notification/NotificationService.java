@@ -1,99 +1,522 @@
 package com.example.fcmretryplayground.application.notification;
 
+import com.example.fcmretryplayground.application.notification.idempotency.NotificationSendGuard;
+import com.example.fcmretryplayground.application.notification.idempotency.SendPermit;
+import com.example.fcmretryplayground.application.notification.metrics.NotificationMetrics;
+import com.example.fcmretryplayground.application.notification.retry.NotificationRetryQueue;
+import com.example.fcmretryplayground.application.notification.retry.RetryTask;
+import com.example.fcmretryplayground.common.FcmCircuitOpenException;
 import com.example.fcmretryplayground.common.RetryableAlarmException;
-import com.example.fcmretryplayground.domain.notification.DeviceFcmToken;
-import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenRepository;
-import com.example.fcmretryplayground.domain.notification.FcmTokenStatus;
+import com.example.fcmretryplayground.config.NotificationRetryProperties;
+import com.example.fcmretryplayground.config.NotificationSendProperties;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenCache;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenInvalidationBuffer;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView;
+import com.example.fcmretryplayground.domain.notification.NotificationContent;
 import com.example.fcmretryplayground.domain.notification.NotificationLog;
 import com.example.fcmretryplayground.domain.notification.NotificationLogService;
+import com.example.fcmretryplayground.domain.notification.NotificationStatus;
+import com.example.fcmretryplayground.domain.notification.RecordNotificationLogCommand;
 import com.example.fcmretryplayground.domain.notification.handler.NotificationCommand;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
 import com.example.fcmretryplayground.domain.notification.handler.Recipient;
-import com.example.fcmretryplayground.domain.user.User;
-import com.example.fcmretryplayground.domain.user.UserRepository;
-import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.firebase.messaging.AndroidConfig;
+import com.google.firebase.messaging.ApnsConfig;
+import com.google.firebase.messaging.Aps;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
 import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
 import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
+    // APNs apns-collapse-id 는 64 바이트를 넘을 수 없다.
+    private static final int MAX_COLLAPSE_KEY_LENGTH = 64;
+    // 전송 성공 로그는 결과 지표(notification.deliveries)로 대신하고, DEBUG 에서 1/N 만 남긴다.
+    private static final int SUCCESS_LOG_SAMPLE_RATE = 100;
+
     private final NotificationLogService notificationLogService;
-    private final DeviceFcmTokenRepository deviceFcmTokenRepository;
-    private final UserRepository userRepository;
+    private final DeviceFcmTokenCache deviceFcmTokenCache;
+    private final DeviceFcmTokenInvalidationBuffer deviceFcmTokenInvalidationBuffer;
+    private final NotificationSendProperties sendProperties;
+    private final NotificationRetryQueue notificationRetryQueue;
+    private final NotificationRetryProperties retryProperties;
+    private final FcmClient fcmClient;
+    private final NotificationSendGuard sendGuard;
+    private final NotificationMetrics metrics;
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    /**
+     * 전송을 세 단계로 나누어 DB 연결은 DB 를 사용하는 동안에만 점유한다.
+     * 1. 수신 대상을 조회하고 batchSize 단위로 READY 로그를 짧은 트랜잭션으로 기록한다.
+     * 2. 트랜잭션 없이 FCM 을 호출한다.
+     * 3. 전송 결과는 NotificationLogWriter 가 모아서 짧은 트랜잭션으로 UPDATE 한다.
+     */
     public void send(NotificationCommand command) {
-        List<User> users = userRepository.findAllById(
-                command.recipients().stream().map(Recipient::getId).toList()
-        );
+        send(command, NotificationContent.from(command.type()));
+    }
+
+    // 묶음 알림처럼 NotificationType 기본 내용 대신 content 로 전송한다.
+    public void send(NotificationCommand command, NotificationContent content) {
+        long startNanos = System.nanoTime();
+        try {
+            if (command.type().isBroadcast()) {
+                broadcast(command.type(), command.notificationId());
+                return;
+            }
+            List<DeviceFcmTokenView> deviceFcmTokens = metrics.timeAudienceLookup(() ->
+                    deviceFcmTokenCache.findDeliverableTokens(
+                            command.recipients().stream().map(Recipient::getId).distinct().toList()));
+            metrics.recordTokens(command.type(), deviceFcmTokens);
+
+            // 중복 전송 방지 키는 batchSize 단위로 FCM 호출 직전에 선점한다.
+            // 수신자가 많아 전체 전송이 in-flight-ttl 보다 오래 걸려도 전송 중인 키가 만료되어 복구 스케줄러가 다시 보내지 않는다.
+            List<ApiFuture<String>> pipelined = new ArrayList<>();
+            for (int from = 0; from < deviceFcmTokens.size(); from += sendProperties.batchSize()) {
+                List<NotificationDelivery> deliveries = prepare(deviceFcmTokens.subList(
+                        from, Math.min(from + sendProperties.batchSize(), deviceFcmTokens.size())),
+                        content, command.notificationId());
+                switch (sendProperties.mode()) {
+                    case SINGLE -> deliveries.forEach(this::sendMessage);
+                    case BATCH -> sendMulticast(deliveries);
+                    case PIPELINED -> pipelined.addAll(dispatchPipelined(deliveries));
+                }
+            }
+            awaitPipelined(pipelined);
+        } finally {
+            metrics.recordSend(command.type(), System.nanoTime() - startNanos);
+        }
+    }
 
-        users.stream()
-                .flatMap(user -> deviceFcmTokenRepository
-                        .findAllByUserAndStatus(user, FcmTokenStatus.ACTIVE)
-                        .stream())
-                .forEach(deviceFcmToken -> {
-                    Message message = buildMessage(
-                            deviceFcmToken.getFcmToken(),
-                            command.type().getTitle(),
-                            command.type().getMessage()
-                    );
-                    NotificationLog notificationLog = notificationLogService.recordReadyNotificationLog(deviceFcmToken,
-                            message);
-                    sendMessage(deviceFcmToken, message, notificationLog);
-                });
-    }
-
-    @Retryable(
-            retryFor = RetryableAlarmException.class,
-            maxAttempts = 2,
-            backoff = @Backoff(delay = 5000, multiplier = 2.0)
-    )
-    public void sendMessage(DeviceFcmToken deviceFcmToken, Message message, NotificationLog notificationLog) {
+    /**
+     * 수신자 토큰을 조회하지 않고 NotificationType 의 topic 으로 한 번에 전송한다. 로그도 topic 당 1건만 기록한다.
+     */
+    private void broadcast(NotificationType type, String notificationId) {
+        String sendGuardKey = NotificationSendGuard.topicKey(notificationId, type.getTopic());
+        if (sendGuard.acquire(List.of(sendGuardKey)).get(0) != SendPermit.ACQUIRED) {
+            log.info("중복 전송 제외 - notificationId: {}, topic: {}", notificationId, type.getTopic());
+            return;
+        }
+        NotificationContent content = NotificationContent.from(type);
+        NotificationLog notificationLog;
         try {
-            String response = FirebaseMessaging.getInstance().send(message);
-            notificationLog.markSuccess();
-            log.info("Send Notification Success: {}", response);
+            notificationLog = metrics.timeLogInsert(() ->
+                    notificationLogService.recordReadyBroadcastLog(type.getTopic(), content, notificationId));
+        } catch (RuntimeException e) {
+            sendGuard.release(List.of(sendGuardKey));
+            throw e;
+        }
+        sendBroadcast(type.getTopic(), content, notificationLog, sendGuardKey);
+    }
+
+    /**
+     * 복구 스케줄러가 READY / 재시도 가능한 FAIL 상태의 topic 전송 로그를 다시 전송한다.
+     */
+    public void resendBroadcast(String topic, NotificationContent content, NotificationLog notificationLog) {
+        String notificationId = notificationLog.getNotificationId() == null
+                ? "log-" + notificationLog.getId() : notificationLog.getNotificationId();
+        String sendGuardKey = NotificationSendGuard.topicKey(notificationId, topic);
+        switch (sendGuard.acquire(List.of(sendGuardKey)).get(0)) {
+            case ACQUIRED -> sendBroadcast(topic, content, notificationLog, sendGuardKey);
+            case ALREADY_SENT -> notificationLogService.markSuccess(notificationLog);
+            case IN_FLIGHT -> log.debug("전송 중인 topic 알림 재전송 제외 - notificationLogId: {}", notificationLog.getId());
+        }
+    }
+
+    // 재시도 가능한 실패는 FAIL 로 남겨 복구 스케줄러가 다시 전송한다. (토큰 단위 재시도 큐를 사용하지 않는다)
+    private void sendBroadcast(String topic, NotificationContent content, NotificationLog notificationLog,
+                               String sendGuardKey) {
+        try {
+            String collapseKey = collapseKey(content, notificationLog.getNotificationId());
+            String response = fcmClient.send(messageBuilder(content, collapseKey)
+                    .setTopic(topic)
+                    .build(), content.priority());
+            sendGuard.markSent(List.of(sendGuardKey));
+            notificationLogService.markSuccess(notificationLog);
+            log.info("Send Broadcast Success - topic: {}, response: {}", topic, response);
         } catch (FirebaseMessagingException e) {
-            notificationLog.markFail(e.getMessagingErrorCode());
-            handleSendFailure(deviceFcmToken, message, e);
+            sendGuard.release(List.of(sendGuardKey));
+            notificationLogService.markFail(notificationLog, e.getMessagingErrorCode());
+            log.error("Send Broadcast Fail - topic: {}, errorCode: {}", topic, e.getMessagingErrorCode());
+        } catch (FcmCircuitOpenException e) {
+            sendGuard.release(List.of(sendGuardKey));
+            log.warn("FCM Circuit Open - topic 전송 보류: {}", topic);
+        } catch (RuntimeException e) {
+            // 전송 완료로 표시한 키는 해제되지 않는다.
+            sendGuard.release(List.of(sendGuardKey));
+            throw e;
+        }
+    }
+
+    /**
+     * 재시도 큐에서 기한이 된 작업을 재전송한다.
+     */
+    public void retry(List<RetryTask> tasks) {
+        resend(tasks.stream()
+                .map(task -> createDelivery(task.deviceFcmToken(), task.content(), task.toNotificationLog()))
+                .toList());
+    }
+
+    /**
+     * 이미 READY 로그가 기록된 알림을 다시 전송한다. (재시도 큐, 복구 스케줄러)
+     */
+    public void resend(List<NotificationDelivery> deliveries) {
+        List<NotificationDelivery> acquired = acquireResends(deliveries);
+        if (sendProperties.mode() == SendMode.BATCH) {
+            sendBatch(acquired);
+            return;
+        }
+        if (sendProperties.mode() == SendMode.PIPELINED) {
+            awaitPipelined(dispatchPipelined(acquired));
+            return;
         }
+        acquired.forEach(this::sendMessage);
     }
 
-    @Recover
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void recover(
-            RetryableAlarmException ex,
-            DeviceFcmToken deviceFcmToken, Message message, NotificationLog notificationLog) {
+    /**
+     * 처음 전송하는 (notificationId, 토큰) 만 남긴다. 같은 notificationId 가 중복 발행된 경우 READY 로그도 기록하지 않는다.
+     */
+    private List<DeviceFcmTokenView> acquireFirstSends(List<DeviceFcmTokenView> deviceFcmTokens, String notificationId) {
+        List<SendPermit> permits = sendGuard.acquire(deviceFcmTokens.stream()
+                .map(deviceFcmToken -> NotificationSendGuard.key(notificationId, deviceFcmToken.id()))
+                .toList());
+        List<DeviceFcmTokenView> acquired = new ArrayList<>(deviceFcmTokens.size());
+        for (int i = 0; i < deviceFcmTokens.size(); i++) {
+            if (permits.get(i) == SendPermit.ACQUIRED) {
+                acquired.add(deviceFcmTokens.get(i));
+            }
+        }
+        if (acquired.size() < deviceFcmTokens.size()) {
+            log.info("중복 전송 제외 - notificationId: {}, count: {}", notificationId,
+                    deviceFcmTokens.size() - acquired.size());
+        }
+        return acquired;
+    }
+
+    /**
+     * 재전송 대상 중 이미 전송에 성공한 알림은 성공으로 기록하고, 다른 곳에서 전송 중인 알림은 건너뛴다.
+     */
+    private List<NotificationDelivery> acquireResends(List<NotificationDelivery> deliveries) {
+        List<SendPermit> permits = sendGuard.acquire(sendGuardKeys(deliveries));
+        List<NotificationDelivery> acquired = new ArrayList<>(deliveries.size());
+        for (int i = 0; i < deliveries.size(); i++) {
+            switch (permits.get(i)) {
+                case ACQUIRED -> acquired.add(deliveries.get(i));
+                case ALREADY_SENT -> notificationLogService.markSuccess(deliveries.get(i).notificationLog());
+                case IN_FLIGHT -> log.debug("전송 중인 알림 재전송 제외 - notificationLogId: {}",
+                        deliveries.get(i).notificationLog().getId());
+            }
+        }
+        return acquired;
+    }
+
+    /**
+     * 처음 전송하는 토큰의 READY 로그를 한 번에 기록하고 전송 단위를 만든다. 반환 순서는 전달한 토큰 순서와 같다.
+     */
+    private List<NotificationDelivery> prepare(List<DeviceFcmTokenView> deviceFcmTokens, NotificationContent content,
+                                               String notificationId) {
+        List<DeviceFcmTokenView> acquired = new ArrayList<>(deviceFcmTokens.size());
+        for (int from = 0; from < deviceFcmTokens.size(); from += sendProperties.batchSize()) {
+            acquired.addAll(acquireFirstSends(deviceFcmTokens.subList(
+                    from, Math.min(from + sendProperties.batchSize(), deviceFcmTokens.size())), notificationId));
+        }
+        if (acquired.isEmpty()) {
+            return List.of();
+        }
+        List<NotificationLog> notificationLogs;
+        try {
+            notificationLogs = metrics.timeLogInsert(() ->
+                    notificationLogService.recordReadyNotificationLogs(acquired, content, notificationId));
+        } catch (RuntimeException e) {
+            sendGuard.release(acquired.stream()
+                    .map(deviceFcmToken -> NotificationSendGuard.key(notificationId, deviceFcmToken.id()))
+                    .toList());
+            throw e;
+        }
+        List<NotificationDelivery> deliveries = new ArrayList<>(acquired.size());
+        for (int i = 0; i < acquired.size(); i++) {
+            deliveries.add(createDelivery(acquired.get(i), content, notificationLogs.get(i)));
+        }
+        return deliveries;
+    }
+
+    /**
+     * 동일한 NotificationType 내용을 받는 수신자들을 batchSize 단위로 묶어 sendEachForMulticast 로 전송한다.
+     * 설정한 전송 모드와 관계없이 BATCH 경로를 검증하기 위한 테스트 진입점이다.
+     */
+    void sendMulticast(List<DeviceFcmTokenView> deviceFcmTokens, NotificationType type, String notificationId) {
+        sendMulticast(prepare(deviceFcmTokens, NotificationContent.from(type), notificationId));
+    }
+
+    // 같은 알림(내용, notificationId)의 전송 단위만 전달받는다.
+    private void sendMulticast(List<NotificationDelivery> deliveries) {
+        for (int from = 0; from < deliveries.size(); from += sendProperties.batchSize()) {
+            List<NotificationDelivery> chunk = deliveries.subList(
+                    from, Math.min(from + sendProperties.batchSize(), deliveries.size()));
+            NotificationContent content = chunk.get(0).content();
+            String collapseKey = collapseKey(content, chunk.get(0).notificationLog().getNotificationId());
+            MulticastMessage multicastMessage = MulticastMessage.builder()
+                    .addAllTokens(chunk.stream().map(delivery -> delivery.deviceFcmToken().fcmToken()).toList())
+                    .setNotification(Notification.builder()
+                            .setTitle(content.title())
+                            .setBody(content.body())
+                            .build())
+                    .setAndroidConfig(androidConfig(collapseKey, content.priority()))
+                    .setApnsConfig(apnsConfig(collapseKey, content.priority()))
+                    .build();
+            try {
+                handleBatchResponse(chunk,
+                        fcmClient.sendEachForMulticast(multicastMessage, chunk.size(), content.priority()));
+            } catch (FirebaseMessagingException e) {
+                handleCallFailure(chunk, e);
+            } catch (FcmCircuitOpenException e) {
+                handleCircuitOpen(chunk);
+            } catch (RuntimeException e) {
+                releaseUnsent(chunk);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 서로 다른 메시지를 batchSize 단위로 묶어 sendEach 로 전송한다.
+     */
+    public void sendBatch(List<NotificationDelivery> deliveries) {
+        for (int from = 0; from < deliveries.size(); from += sendProperties.batchSize()) {
+            List<NotificationDelivery> chunk = deliveries.subList(
+                    from, Math.min(from + sendProperties.batchSize(), deliveries.size()));
+            try {
+                handleBatchResponse(chunk, fcmClient.sendEach(
+                        chunk.stream().map(NotificationDelivery::message).toList(), priorityOf(chunk)));
+            } catch (FirebaseMessagingException e) {
+                handleCallFailure(chunk, e);
+            } catch (FcmCircuitOpenException e) {
+                handleCircuitOpen(chunk);
+            } catch (RuntimeException e) {
+                releaseUnsent(chunk);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 토큰별 메시지를 sendAsync 로 응답을 기다리지 않고 연달아 전송한다.
+     * 동시에 응답을 기다리는 요청 수는 FcmClient 의 maxInFlightCalls 로 제한되고, 결과는 응답을 받은 스레드에서 SINGLE 모드와 같은 방식으로 처리한다.
+     * 호출한 스레드는 모든 응답을 처리한 뒤 반환하므로 outbox / fan-out 의 완료 처리 시점은 다른 모드와 같다.
+     * 설정한 전송 모드와 관계없이 PIPELINED 경로를 검증하기 위한 테스트 진입점이다.
+     */
+    void sendPipelined(List<DeviceFcmTokenView> deviceFcmTokens, NotificationType type, String notificationId) {
+        awaitPipelined(dispatchPipelined(prepare(deviceFcmTokens, NotificationContent.from(type), notificationId)));
+    }
+
+    // 서킷이 열리면 남은 알림은 전송하지 않고 READY 로 남긴다.
+    private List<ApiFuture<String>> dispatchPipelined(List<NotificationDelivery> deliveries) {
+        List<ApiFuture<String>> futures = new ArrayList<>(deliveries.size());
+        for (int i = 0; i < deliveries.size(); i++) {
+            NotificationDelivery delivery = deliveries.get(i);
+            ApiFuture<String> future;
+            try {
+                future = fcmClient.sendAsync(delivery.message(), delivery.content().priority());
+            } catch (FcmCircuitOpenException e) {
+                handleCircuitOpen(deliveries.subList(i, deliveries.size()));
+                break;
+            } catch (RuntimeException e) {
+                releaseUnsent(deliveries.subList(i, deliveries.size()));
+                throw e;
+            }
+            ApiFutures.addCallback(future, new ApiFutureCallback<>() {
+                @Override
+                public void onSuccess(String response) {
+                    sendGuard.markSent(List.of(sendGuardKey(delivery)));
+                    notificationLogService.markSuccess(delivery.notificationLog());
+                    recordSuccess(delivery);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    sendGuard.release(List.of(sendGuardKey(delivery)));
+                    if (t instanceof FirebaseMessagingException e) {
+                        handleDeliveryFailure(delivery, e);
+                        return;
+                    }
+                    // FCM 응답을 받지 못한 경우 READY 로 남겨 복구 스케줄러가 다시 전송한다.
+                    log.error("Send Notification Async Fail - notificationLogId: {}",
+                            delivery.notificationLog().getId(), t);
+                }
+            }, MoreExecutors.directExecutor());
+            futures.add(future);
+        }
+        return futures;
+    }
+
+    private void awaitPipelined(List<ApiFuture<String>> futures) {
+        if (futures.isEmpty()) {
+            return;
+        }
+        try {
+            ApiFutures.successfulAsList(futures).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("파이프라인 전송 응답 대기 중 인터럽트 발생 - 미완료 알림은 복구 스케줄러가 처리: {}", futures.size());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("파이프라인 전송 응답 대기 실패", e);
+        }
+        log.debug("Send Notification Pipelined - count: {}", futures.size());
+    }
+
+    // BatchResponse 의 응답 순서는 요청한 메시지(토큰) 순서와 같다.
+    private void handleBatchResponse(List<NotificationDelivery> deliveries, BatchResponse batchResponse) {
+        List<SendResponse> responses = batchResponse.getResponses();
+        List<String> sentKeys = new ArrayList<>(responses.size());
+        List<String> failedKeys = new ArrayList<>(batchResponse.getFailureCount());
+        // 응답 처리 중 예외가 발생해도 이미 확인한 결과는 중복 전송 방지에 반영한다.
+        try {
+            for (int i = 0; i < responses.size(); i++) {
+                SendResponse response = responses.get(i);
+                NotificationDelivery delivery = deliveries.get(i);
+                if (response.isSuccessful()) {
+                    sentKeys.add(sendGuardKey(delivery));
+                    notificationLogService.markSuccess(delivery.notificationLog());
+                    recordSuccess(delivery);
+                    continue;
+                }
+                failedKeys.add(sendGuardKey(delivery));
+                handleDeliveryFailure(delivery, response.getException());
+            }
+        } finally {
+            sendGuard.markSent(sentKeys);
+            sendGuard.release(failedKeys);
+        }
+        log.debug("Send Notification Batch - success: {}, failure: {}",
+                batchResponse.getSuccessCount(), batchResponse.getFailureCount());
+    }
+
+    public void sendMessage(NotificationDelivery delivery) {
+        try {
+            String response = fcmClient.send(delivery.message(), delivery.content().priority());
+            sendGuard.markSent(List.of(sendGuardKey(delivery)));
+            notificationLogService.markSuccess(delivery.notificationLog());
+            recordSuccess(delivery);
+            if (log.isDebugEnabled() && ThreadLocalRandom.current().nextInt(SUCCESS_LOG_SAMPLE_RATE) == 0) {
+                log.debug("Send Notification Success (1/{} 샘플): {}", SUCCESS_LOG_SAMPLE_RATE, response);
+            }
+        } catch (FirebaseMessagingException e) {
+            sendGuard.release(List.of(sendGuardKey(delivery)));
+            handleDeliveryFailure(delivery, e);
+        } catch (FcmCircuitOpenException e) {
+            handleCircuitOpen(List.of(delivery));
+        } catch (RuntimeException e) {
+            releaseUnsent(List.of(delivery));
+            throw e;
+        }
+    }
+
+    /**
+     * 예상하지 못한 예외로 전송을 마치지 못한 알림의 '전송 중' 키를 해제한다.
+     * 전송 완료로 표시된 키는 해제되지 않으며, READY 로그는 복구 스케줄러가 다시 전송한다.
+     */
+    private void releaseUnsent(List<NotificationDelivery> deliveries) {
+        sendGuard.release(sendGuardKeys(deliveries));
+    }
+
+    /**
+     * 서킷이 열려 전송을 시도하지 않은 알림은 로그 상태를 바꾸지 않는다.
+     * READY 로그와 재시도 가능한 FAIL 로그는 서킷이 닫힌 뒤 복구 스케줄러가 다시 전송한다.
+     */
+    private void handleCircuitOpen(List<NotificationDelivery> deliveries) {
+        sendGuard.release(sendGuardKeys(deliveries));
+        log.warn("FCM Circuit Open - 전송 보류: {}", deliveries.size());
+    }
+
+    private void recordSuccess(NotificationDelivery delivery) {
+        metrics.recordDelivery(delivery.content().type(), delivery.deviceFcmToken().deviceType(),
+                NotificationStatus.SUCCESS, null);
+    }
+
+    /**
+     * sendEach / sendEachForMulticast 호출 자체가 실패하면 토큰별 결과가 없으므로, 요청 하나의 오류(예: 잘못된 payload)로
+     * 묶음의 모든 토큰을 무효화하지 않도록 토큰은 건드리지 않는다. 재시도 가능한 오류만 재시도하고 그 외에는 FAIL 로 기록한다.
+     */
+    private void handleCallFailure(List<NotificationDelivery> deliveries, FirebaseMessagingException e) {
+        sendGuard.release(sendGuardKeys(deliveries));
+        MessagingErrorCode code = e.getMessagingErrorCode();
+        if (!isRetryable(code)) {
+            log.error("Send Notification Batch Fail - code: {}, count: {}", code, deliveries.size(), e);
+        }
+        for (NotificationDelivery delivery : deliveries) {
+            notificationLogService.markFail(delivery.notificationLog(), code);
+            metrics.recordDelivery(delivery.content().type(), delivery.deviceFcmToken().deviceType(),
+                    NotificationStatus.FAIL, code);
+            if (isRetryable(code)) {
+                scheduleRetry(delivery, new RetryableAlarmException(code));
+            }
+        }
+    }
+
+    private void handleDeliveryFailure(NotificationDelivery delivery, FirebaseMessagingException e) {
+        notificationLogService.markFail(delivery.notificationLog(), e.getMessagingErrorCode());
+        metrics.recordDelivery(delivery.content().type(), delivery.deviceFcmToken().deviceType(),
+                NotificationStatus.FAIL, e.getMessagingErrorCode());
+        try {
+            handleSendFailure(delivery.deviceFcmToken(), delivery.message(), e);
+        } catch (RetryableAlarmException ex) {
+            scheduleRetry(delivery, ex);
+        }
+    }
+
+    /**
+     * 재시도 가능한 실패는 스레드를 대기시키지 않고 지연 재시도 큐에 넣는다.
+     * NotificationLog.count 는 READY 기록 시 1 에서 시작해 실패할 때마다 증가하므로, 지금까지의 전송 시도 횟수는 count - 1 이다.
+     */
+    private void scheduleRetry(NotificationDelivery delivery, RetryableAlarmException ex) {
+        int attempts = delivery.notificationLog().getCount() - 1;
+        if (attempts >= retryProperties.maxAttempts()) {
+            recover(ex, delivery);
+            return;
+        }
+        long delayMillis = (long) (retryProperties.initialDelay().toMillis()
+                * Math.pow(retryProperties.multiplier(), attempts - 1));
+        notificationRetryQueue.offer(RetryTask.of(delivery, System.currentTimeMillis() + delayMillis));
+    }
+
+    // 재시도 횟수를 모두 소진한 경우 실패 로그를 기록한다.
+    public void recover(RetryableAlarmException ex, NotificationDelivery delivery) {
         notificationLogService.recordNotificationLog(
-                new com.example.fcmretryplayground.domain.notification.RecordNotificationLogCommand(
-                        notificationLog.getId(), ex.getCode()
-                )
+                new RecordNotificationLogCommand(delivery.notificationLog(), ex.getCode())
         );
     }
 
-    public void handleSendFailure(DeviceFcmToken deviceFcmToken, Message message, FirebaseMessagingException e) {
+    public void handleSendFailure(DeviceFcmTokenView deviceFcmToken, Message message, FirebaseMessagingException e) {
         MessagingErrorCode code = e.getMessagingErrorCode();
+        if (isRetryable(code)) {
+            throw new RetryableAlarmException(code);
+        }
         switch (code) {
-            case INTERNAL, UNAVAILABLE, QUOTA_EXCEEDED -> throw new RetryableAlarmException(code);
             case UNREGISTERED -> {
-                deviceFcmToken.markInvalid();
-                log.error("Device FCM Token Unregistered: {}", deviceFcmToken.getId());
+                markInvalid(deviceFcmToken);
+                log.error("Device FCM Token Unregistered: {}", deviceFcmToken.id());
             }
             case INVALID_ARGUMENT ->{
-                deviceFcmToken.markInvalid();
+                markInvalid(deviceFcmToken);
                 log.error("Invalid Argument: {}", message);
             }
             case SENDER_ID_MISMATCH ->{
@@ -104,10 +527,93 @@ public class NotificationService {
         }
     }
 
-    private Message buildMessage(String fcmToken, String title, String body) {
+    // 네트워크 오류처럼 FCM 응답을 받지 못한 실패는 오류 코드가 없으므로 일시적 장애로 보고 재시도한다.
+    private boolean isRetryable(MessagingErrorCode code) {
+        return code == null || code == MessagingErrorCode.INTERNAL || code == MessagingErrorCode.UNAVAILABLE
+                || code == MessagingErrorCode.QUOTA_EXCEEDED;
+    }
+
+    // 무효 토큰은 모아서 한 번에 UPDATE 한다.
+    private void markInvalid(DeviceFcmTokenView deviceFcmToken) {
+        deviceFcmTokenInvalidationBuffer.add(deviceFcmToken.id());
+    }
+
+    public NotificationDelivery createDelivery(DeviceFcmTokenView deviceFcmToken, NotificationContent content,
+                                               NotificationLog notificationLog) {
+        String collapseKey = collapseKey(content, notificationLog.getNotificationId());
+        return new NotificationDelivery(deviceFcmToken, content,
+                buildMessage(deviceFcmToken.fcmToken(), content, collapseKey), notificationLog);
+    }
+
+    private Message buildMessage(String fcmToken, NotificationContent content, String collapseKey) {
+        return messageBuilder(content, collapseKey).setToken(fcmToken).build();
+    }
+
+    private Message.Builder messageBuilder(NotificationContent content, String collapseKey) {
         return Message.builder()
-                .setToken(fcmToken)
-                .setNotification(Notification.builder().setTitle(title).setBody(body).build())
-                .build();
+                .setNotification(Notification.builder().setTitle(content.title()).setBody(content.body()).build())
+                .setAndroidConfig(androidConfig(collapseKey, content.priority()))
+                .setApnsConfig(apnsConfig(collapseKey, content.priority()));
+    }
+
+    // 같은 알림이 중복 전송되더라도 기기에서는 하나로 합쳐지도록 collapse key 를 지정한다.
+    // HIGH 알림은 기기가 절전 상태여도 바로 전달되도록 FCM / APNs 우선순위를 높게 지정한다. (NORMAL 은 FCM 기본값)
+    private AndroidConfig androidConfig(String collapseKey, NotificationPriority priority) {
+        boolean high = priority == NotificationPriority.HIGH;
+        if (collapseKey == null && !high) {
+            return null;
+        }
+        AndroidConfig.Builder builder = AndroidConfig.builder();
+        if (collapseKey != null) {
+            builder.setCollapseKey(collapseKey);
+        }
+        if (high) {
+            builder.setPriority(AndroidConfig.Priority.HIGH);
+        }
+        return builder.build();
+    }
+
+    private ApnsConfig apnsConfig(String collapseKey, NotificationPriority priority) {
+        boolean high = priority == NotificationPriority.HIGH;
+        if (collapseKey == null && !high) {
+            return null;
+        }
+        ApnsConfig.Builder builder = ApnsConfig.builder().setAps(Aps.builder().build());
+        if (collapseKey != null) {
+            builder.putHeader("apns-collapse-id", collapseKey);
+        }
+        if (high) {
+            builder.putHeader("apns-priority", "10");
+        }
+        return builder.build();
+    }
+
+    // 재전송 묶음은 모두 HIGH 인 경우에만 예약 허용량을 사용한다.
+    private NotificationPriority priorityOf(List<NotificationDelivery> deliveries) {
+        return deliveries.stream().allMatch(delivery -> delivery.content().priority() == NotificationPriority.HIGH)
+                ? NotificationPriority.HIGH : NotificationPriority.NORMAL;
+    }
+
+    // 묶음 알림은 content 의 collapse key 를, 그 외에는 notificationId 를 사용한다.
+    private String collapseKey(NotificationContent content, String notificationId) {
+        if (content.collapseKey() != null) {
+            return content.collapseKey();
+        }
+        if (notificationId == null || notificationId.length() <= MAX_COLLAPSE_KEY_LENGTH) {
+            return notificationId;
+        }
+        return UUID.nameUUIDFromBytes(notificationId.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private List<String> sendGuardKeys(List<NotificationDelivery> deliveries) {
+        return deliveries.stream().map(this::sendGuardKey).toList();
+    }
+
+    // notificationId 가 없는 이전 로그는 로그 ID 로 구분한다.
+    private String sendGuardKey(NotificationDelivery delivery) {
+        NotificationLog notificationLog = delivery.notificationLog();
+        String notificationId = notificationLog.getNotificationId() == null
+                ? "log-" + notificationLog.getId() : notificationLog.getNotificationId();
+        return NotificationSendGuard.key(notificationId, delivery.deviceFcmToken().id());
     }
 }
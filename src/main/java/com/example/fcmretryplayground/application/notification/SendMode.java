@@ -0,0 +1,10 @@
+package com.example.fcmretryplayground.application.notification;
+
+public enum SendMode {
+    // 토큰 1건당 FCM 요청 1회
+    SINGLE,
+    // sendEach / sendEachForMulticast 로 최대 500건씩 묶어서 전송
+    BATCH,
+    // sendAsync 로 응답을 기다리지 않고 토큰 1건씩 전송 (동시 진행 요청 수는 max-in-flight-fcm-calls 로 제한)
+    PIPELINED
+}
@@ -0,0 +1,154 @@
+package com.example.fcmretryplayground.application.notification.circuitbreaker;
+
+import com.example.fcmretryplayground.config.FcmCircuitBreakerProperties;
+import com.google.firebase.messaging.MessagingErrorCode;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * FCM 호출을 보호하는 서킷 브레이커.
+ * rolling window 안에서 일시 장애(INTERNAL, UNAVAILABLE, 오류 코드가 없는 네트워크 오류 / 타임아웃) 비율이 임계치를 넘으면
+ * OPEN 으로 전환되어 타임아웃을 기다리지 않고 즉시 실패시킨다. openDuration 이 지나면 HALF_OPEN 으로 전환해
+ * 제한된 수의 시험 호출을 허용하고, 모두 성공하면 CLOSED, 하나라도 일시 장애면 다시 OPEN 으로 전환한다.
+ * 토큰 문제(UNREGISTERED 등)처럼 FCM 이 정상 응답한 실패는 장애로 보지 않는다.
+ */
+@Slf4j
+public class FcmCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final FcmCircuitBreakerProperties properties;
+    private final LongSupplier clock;
+    private final long bucketMillis;
+    private final long[] bucketStarts;
+    private final int[] totalCalls;
+    private final int[] transientFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+
+    public FcmCircuitBreaker(FcmCircuitBreakerProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    FcmCircuitBreaker(FcmCircuitBreakerProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.bucketMillis = Math.max(1, properties.window().toMillis() / properties.bucketCount());
+        this.bucketStarts = new long[properties.bucketCount()];
+        this.totalCalls = new int[properties.bucketCount()];
+        this.transientFailures = new int[properties.bucketCount()];
+    }
+
+    public static boolean isTransientFailure(MessagingErrorCode code) {
+        return code == null || code == MessagingErrorCode.INTERNAL || code == MessagingErrorCode.UNAVAILABLE;
+    }
+
+    /**
+     * 호출을 시도해도 되는지 확인한다. true 를 반환받은 호출은 반드시 record 로 결과를 알려야 한다.
+     */
+    public synchronized boolean tryAcquire() {
+        if (!properties.enabled()) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < properties.openDuration().toMillis()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenInFlight = 0;
+            halfOpenSuccesses = 0;
+            log.info("FCM Circuit HALF_OPEN");
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= properties.halfOpenProbes()) {
+                return false;
+            }
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    public synchronized void record(int calls, int failures) {
+        if (!properties.enabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+            if (failures > 0) {
+                open(now);
+                return;
+            }
+            if (++halfOpenSuccesses >= properties.halfOpenProbes()) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // OPEN 전환 이전에 시작된 호출의 결과는 무시한다.
+            return;
+        }
+
+        int index = bucketIndex(now);
+        totalCalls[index] += calls;
+        transientFailures[index] += failures;
+
+        int windowCalls = 0;
+        int windowFailures = 0;
+        long windowStart = now - properties.window().toMillis();
+        for (int i = 0; i < bucketStarts.length; i++) {
+            if (bucketStarts[i] > windowStart) {
+                windowCalls += totalCalls[i];
+                windowFailures += transientFailures[i];
+            }
+        }
+        if (windowCalls >= properties.minimumCalls()
+                && (double) windowFailures / windowCalls >= properties.failureRateThreshold()) {
+            open(now);
+        }
+    }
+
+    /**
+     * 호출을 시도하지 않고 지금 호출하면 즉시 거절되는지 확인한다. (openDuration 이 지나 HALF_OPEN 으로 전환될 수 있으면 false)
+     */
+    public synchronized boolean isOpen() {
+        return properties.enabled() && state == State.OPEN
+                && clock.getAsLong() - openedAt < properties.openDuration().toMillis();
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private int bucketIndex(long now) {
+        long bucketStart = now - Math.floorMod(now, bucketMillis);
+        int index = (int) Math.floorMod(now / bucketMillis, (long) bucketStarts.length);
+        if (bucketStarts[index] != bucketStart) {
+            bucketStarts[index] = bucketStart;
+            totalCalls[index] = 0;
+            transientFailures[index] = 0;
+        }
+        return index;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+        log.warn("FCM Circuit OPEN - {} 동안 전송을 중단합니다.", properties.openDuration());
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        for (int i = 0; i < bucketStarts.length; i++) {
+            bucketStarts[i] = 0;
+            totalCalls[i] = 0;
+            transientFailures[i] = 0;
+        }
+        log.info("FCM Circuit CLOSED");
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.fcmretryplayground.application.notification.coalescing;
+
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+
+// window 동안 한 사용자에게 모인 같은 NotificationType 알림 수 (중복 발행된 notificationId 는 한 번만 센다)
+public record CoalescedNotification(
+        NotificationType type,
+        Long userId,
+        int count,
+        long dueAtMillis
+) {
+}
@@ -0,0 +1,67 @@
+package com.example.fcmretryplayground.application.notification.coalescing;
+
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 단일 노드용 인메모리 버퍼.
+ * window 경계는 시간 순으로 증가하므로 먼저 추가된 묶음의 기한이 먼저 돌아온다. 삽입 순서를 유지하는 LinkedHashMap 의 앞에서부터 꺼낸다.
+ * 노드가 종료되면 모아 둔 알림은 유실된다.
+ */
+public class InMemoryNotificationCoalescingBuffer implements NotificationCoalescingBuffer {
+
+    private final Object lock = new Object();
+    private final Map<Key, Entry> entries = new LinkedHashMap<>();
+
+    @Override
+    public void add(NotificationType type, Long userId, String notificationId, long dueAtMillis) {
+        synchronized (lock) {
+            entries.computeIfAbsent(new Key(type, userId), key -> new Entry(dueAtMillis))
+                    .notificationIds.add(notificationId);
+        }
+    }
+
+    @Override
+    public List<CoalescedNotification> pollDue(long nowMillis, int maxSize) {
+        List<CoalescedNotification> due = new ArrayList<>();
+        synchronized (lock) {
+            Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext() && due.size() < maxSize) {
+                Map.Entry<Key, Entry> entry = iterator.next();
+                if (entry.getValue().dueAtMillis > nowMillis) {
+                    break;
+                }
+                due.add(new CoalescedNotification(entry.getKey().type(), entry.getKey().userId(),
+                        entry.getValue().notificationIds.size(), entry.getValue().dueAtMillis));
+                iterator.remove();
+            }
+        }
+        return due;
+    }
+
+    @Override
+    public long size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    private record Key(NotificationType type, Long userId) {
+    }
+
+    private static class Entry {
+
+        private final long dueAtMillis;
+        private final Set<String> notificationIds = new HashSet<>();
+
+        private Entry(long dueAtMillis) {
+            this.dueAtMillis = dueAtMillis;
+        }
+    }
+}
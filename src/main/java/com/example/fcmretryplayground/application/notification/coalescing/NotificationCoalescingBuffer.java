@@ -0,0 +1,19 @@
+package com.example.fcmretryplayground.application.notification.coalescing;
+
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import java.util.List;
+
+/**
+ * (사용자, NotificationType) 단위로 window 동안 들어온 알림을 모아 두는 버퍼.
+ * 묶음의 기한은 첫 알림이 속한 window 의 끝이며, 그 사이 들어온 알림은 원본 notificationId 로 중복을 걸러 센다.
+ * outbox / fan-out 이 같은 NotificationCommand 를 다시 전달해도 건수가 늘지 않는다.
+ */
+public interface NotificationCoalescingBuffer {
+
+    void add(NotificationType type, Long userId, String notificationId, long dueAtMillis);
+
+    // 기한이 된 묶음을 최대 maxSize 개 꺼내고 버퍼에서 제거한다.
+    List<CoalescedNotification> pollDue(long nowMillis, int maxSize);
+
+    long size();
+}
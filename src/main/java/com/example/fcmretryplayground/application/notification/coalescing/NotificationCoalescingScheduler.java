@@ -0,0 +1,82 @@
+package com.example.fcmretryplayground.application.notification.coalescing;
+
+import com.example.fcmretryplayground.application.notification.NotificationLanes;
+import com.example.fcmretryplayground.application.notification.NotificationService;
+import com.example.fcmretryplayground.config.NotificationCoalescingProperties;
+import com.example.fcmretryplayground.domain.notification.NotificationContent;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationCommand;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import com.example.fcmretryplayground.domain.notification.handler.Recipient;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기한이 된 묶음을 꺼내 사용자별 요약 알림 1건으로 전송한다.
+ * 같은 NotificationType, 같은 건수, 같은 window 의 묶음은 내용이 같으므로 NotificationCommand 하나로 모아 multicast 효율을 유지한다.
+ * 요약 알림의 notificationId 는 (NotificationType, window) 로 정해지므로, 여러 노드가 같은 window 의 요약 알림을 만들어도
+ * 중복 전송 방지 가드가 기기별로 한 번만 전송한다.
+ * 요약 알림은 fan-out / outbox 를 거치지 않고 묶음을 꺼낸 노드에서 바로 전송한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationCoalescingScheduler {
+
+    private static final String DIGEST_ID_PREFIX = "digest:";
+
+    private final NotificationCoalescingBuffer coalescingBuffer;
+    private final NotificationCoalescingProperties properties;
+    private final NotificationService notificationService;
+    private final NotificationLanes notificationLanes;
+
+    @Scheduled(fixedDelayString = "${notification.coalescing.flush-interval:1s}")
+    public void flush() {
+        if (!properties.enabled()) {
+            return;
+        }
+        long nowMillis = System.currentTimeMillis();
+        while (true) {
+            List<CoalescedNotification> due = coalescingBuffer.pollDue(nowMillis, properties.pollBatchSize());
+            dispatch(due);
+            if (due.size() < properties.pollBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    private void dispatch(List<CoalescedNotification> due) {
+        Map<DigestKey, List<Recipient>> recipientsByDigest = due.stream()
+                .collect(Collectors.groupingBy(
+                        notification -> new DigestKey(notification.type(), notification.count(),
+                                notification.dueAtMillis()),
+                        LinkedHashMap::new,
+                        Collectors.mapping(notification -> new Recipient(notification.userId(), null),
+                                Collectors.toList())));
+        recipientsByDigest.forEach((digestKey, recipients) -> {
+            NotificationCommand command = new NotificationCommand(null, recipients, digestKey.type(),
+                    DIGEST_ID_PREFIX + digestKey.type().name() + ":" + digestKey.dueAtMillis());
+            NotificationContent content = digestKey.count() == 1
+                    ? NotificationContent.from(digestKey.type())
+                    : NotificationContent.digest(digestKey.type(), digestKey.count());
+            notificationLanes.executorFor(digestKey.type()).execute(() -> send(command, content, digestKey));
+        });
+    }
+
+    private void send(NotificationCommand command, NotificationContent content, DigestKey digestKey) {
+        try {
+            notificationService.send(command, content);
+        } catch (Exception e) {
+            log.error("묶음 알림 전송 실패 - type: {}, count: {}, recipients: {}",
+                    digestKey.type(), digestKey.count(), command.recipients().size(), e);
+        }
+    }
+
+    private record DigestKey(NotificationType type, int count, long dueAtMillis) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.fcmretryplayground.application.notification.coalescing;
+
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * 모든 노드가 공유하는 Redis 버퍼.
+ * 묶음의 기한은 Sorted Set(score = dueAtMillis), 원본 notificationId 는 묶음별 Set 에 보관하며,
+ * 어느 노드로 들어온 알림이든 같은 묶음으로 세고 같은 notificationId 는 한 번만 센다.
+ * 기한이 된 묶음의 조회와 삭제를 Lua 스크립트로 한 번에 수행하므로 요약 알림은 한 노드에서만 전송된다.
+ */
+@RequiredArgsConstructor
+public class RedisNotificationCoalescingBuffer implements NotificationCoalescingBuffer {
+
+    private static final String DUE_KEY = "notification:coalescing:due";
+    private static final String IDS_KEY_PREFIX = "notification:coalescing:ids:";
+    // 묶음을 꺼내지 못한 채 남은 notificationId Set 이 계속 쌓이지 않도록 둔 만료 시간
+    private static final String IDS_TTL_MILLIS = "3600000";
+
+    // 첫 알림만 기한을 기록하고(NX), 이후 알림은 notificationId 만 추가한다.
+    private static final RedisScript<Long> ADD_SCRIPT = RedisScript.of("""
+            redis.call('ZADD', KEYS[1], 'NX', ARGV[2], ARGV[1])
+            local added = redis.call('SADD', KEYS[2], ARGV[3])
+            redis.call('PEXPIRE', KEYS[2], ARGV[4])
+            return added
+            """, Long.class);
+
+    // [member, dueAtMillis, count, ...] 로 반환한다. notificationId Set 이 만료된 묶음은 1건으로 센다.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> POLL_DUE_SCRIPT = RedisScript.of("""
+            local members = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, ARGV[2])
+            local result = {}
+            for i = 1, #members, 2 do
+                local member = members[i]
+                local idsKey = ARGV[3] .. member
+                table.insert(result, member)
+                table.insert(result, members[i + 1])
+                table.insert(result, tostring(math.max(1, redis.call('SCARD', idsKey))))
+                redis.call('DEL', idsKey)
+                redis.call('ZREM', KEYS[1], member)
+            end
+            return result
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void add(NotificationType type, Long userId, String notificationId, long dueAtMillis) {
+        String member = type.name() + ":" + userId;
+        redisTemplate.execute(ADD_SCRIPT, List.of(DUE_KEY, IDS_KEY_PREFIX + member), member,
+                String.valueOf(dueAtMillis), notificationId, IDS_TTL_MILLIS);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CoalescedNotification> pollDue(long nowMillis, int maxSize) {
+        List<String> result = redisTemplate.execute(POLL_DUE_SCRIPT, List.of(DUE_KEY),
+                String.valueOf(nowMillis), String.valueOf(maxSize), IDS_KEY_PREFIX);
+        if (result == null) {
+            return List.of();
+        }
+        List<CoalescedNotification> due = new ArrayList<>(result.size() / 3);
+        for (int i = 0; i + 2 < result.size(); i += 3) {
+            String member = result.get(i);
+            int separator = member.lastIndexOf(':');
+            due.add(new CoalescedNotification(NotificationType.valueOf(member.substring(0, separator)),
+                    Long.parseLong(member.substring(separator + 1)), Integer.parseInt(result.get(i + 2)),
+                    (long) Double.parseDouble(result.get(i + 1))));
+        }
+        return due;
+    }
+
+    @Override
+    public long size() {
+        Long size = redisTemplate.opsForZSet().zCard(DUE_KEY);
+        return size == null ? 0 : size;
+    }
+}
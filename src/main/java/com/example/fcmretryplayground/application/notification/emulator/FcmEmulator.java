@@ -0,0 +1,223 @@
+package com.example.fcmretryplayground.application.notification.emulator;
+
+import com.example.fcmretryplayground.config.FcmEmulatorProperties;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * FCM HTTP v1 messages:send 를 흉내 내는 로컬 HTTP 서버.
+ * 설정한 분포로 응답을 지연시키고, 설정한 확률로 MessagingErrorCode 오류 응답을 반환한다.
+ * sendEach / sendEachForMulticast 는 메시지마다 messages:send 를 호출하므로 이 엔드포인트만으로 부하 테스트가 가능하다.
+ * httpTransport() 를 FirebaseOptions 에 설정하면 fcm.googleapis.com 으로 가는 요청이 에뮬레이터로 전달된다.
+ */
+@Slf4j
+public class FcmEmulator {
+
+    private static final String FCM_HOST = "fcm.googleapis.com";
+    private static final String SEND_PATH_SUFFIX = "/messages:send";
+    // 표준 정규 분포의 99 백분위수
+    private static final double Z_99 = 2.3263;
+
+    private final FcmEmulatorProperties properties;
+    private final double latencySigma;
+    private final Map<MessagingErrorCode, AtomicLong> injectedErrors = new EnumMap<>(MessagingErrorCode.class);
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public FcmEmulator(FcmEmulatorProperties properties) {
+        this.properties = properties;
+        this.latencySigma = properties.medianLatency().isZero() ? 0
+                : Math.log((double) properties.p99Latency().toNanos() / properties.medianLatency().toNanos()) / Z_99;
+        for (MessagingErrorCode code : MessagingErrorCode.values()) {
+            injectedErrors.put(code, new AtomicLong());
+        }
+    }
+
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        executor = Executors.newFixedThreadPool(properties.threads());
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), properties.port()), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        log.info("FCM 에뮬레이터 시작 - port: {}, errorRates: {}", getPort(), properties.errorRates());
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        log.info("FCM 에뮬레이터 종료 - requests: {}, injectedErrors: {}", requests.get(), getInjectedErrors());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getProjectId() {
+        return properties.projectId();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public Map<MessagingErrorCode, Long> getInjectedErrors() {
+        Map<MessagingErrorCode, Long> counts = new EnumMap<>(MessagingErrorCode.class);
+        injectedErrors.forEach((code, count) -> {
+            if (count.get() > 0) {
+                counts.put(code, count.get());
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * fcm.googleapis.com 으로 가는 요청의 주소를 에뮬레이터로 바꾸는 HttpTransport.
+     * 그 외 호스트(OAuth 토큰 발급 등)로 가는 요청은 그대로 보낸다.
+     */
+    public HttpTransport httpTransport() {
+        return new NetHttpTransport.Builder()
+                .setConnectionFactory(url -> (HttpURLConnection) rewrite(url).openConnection())
+                .build();
+    }
+
+    private URL rewrite(URL url) throws IOException {
+        if (!FCM_HOST.equals(url.getHost())) {
+            return url;
+        }
+        return new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), getPort(), url.getFile());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.readAllBytes();
+            if (!"POST".equals(exchange.getRequestMethod())
+                    || !exchange.getRequestURI().getPath().endsWith(SEND_PATH_SUFFIX)) {
+                respond(exchange, 404, errorBody(404, "NOT_FOUND", null, "Unsupported path"));
+                return;
+            }
+            requests.incrementAndGet();
+            sleep(sampleLatencyNanos());
+
+            MessagingErrorCode errorCode = sampleError();
+            if (errorCode == null) {
+                respond(exchange, 200, "{\"name\":\"projects/" + properties.projectId() + "/messages/"
+                        + messageIds.incrementAndGet() + "\"}");
+                return;
+            }
+            injectedErrors.get(errorCode).incrementAndGet();
+            ErrorStatus status = ErrorStatus.of(errorCode);
+            if (errorCode == MessagingErrorCode.QUOTA_EXCEEDED) {
+                exchange.getResponseHeaders().set("Retry-After",
+                        String.valueOf(Math.max(1, properties.retryAfter().toSeconds())));
+            }
+            respond(exchange, status.httpStatus, errorBody(status.httpStatus, status.name(), errorCode,
+                    "Injected by FCM emulator"));
+        }
+    }
+
+    private long sampleLatencyNanos() {
+        long median = properties.medianLatency().toNanos();
+        if (median == 0) {
+            return 0;
+        }
+        return (long) (median * Math.exp(latencySigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    private MessagingErrorCode sampleError() {
+        double sample = ThreadLocalRandom.current().nextDouble();
+        double cumulative = 0;
+        for (Map.Entry<MessagingErrorCode, Double> errorRate : properties.errorRates().entrySet()) {
+            cumulative += errorRate.getValue();
+            if (sample < cumulative) {
+                return errorRate.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int httpStatus, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(httpStatus, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    // FCM v1 오류 응답 형식, SDK 는 details 의 errorCode 로 MessagingErrorCode 를 결정한다.
+    private static String errorBody(int httpStatus, String status, MessagingErrorCode errorCode, String message) {
+        String details = errorCode == null ? "" : ",\"details\":[{\"@type\":\"type.googleapis.com/google.firebase.fcm.v1.FcmError\","
+                + "\"errorCode\":\"" + errorCode.name() + "\"}]";
+        return "{\"error\":{\"code\":" + httpStatus + ",\"message\":\"" + message + "\",\"status\":\"" + status + "\""
+                + details + "}}";
+    }
+
+    // MessagingErrorCode 별 FCM 응답의 HTTP 상태와 google.rpc 상태
+    private enum ErrorStatus {
+        INVALID_ARGUMENT(400),
+        UNAUTHENTICATED(401),
+        PERMISSION_DENIED(403),
+        NOT_FOUND(404),
+        RESOURCE_EXHAUSTED(429),
+        INTERNAL(500),
+        UNAVAILABLE(503);
+
+        private final int httpStatus;
+
+        ErrorStatus(int httpStatus) {
+            this.httpStatus = httpStatus;
+        }
+
+        private static ErrorStatus of(MessagingErrorCode code) {
+            return switch (code) {
+                case INVALID_ARGUMENT -> INVALID_ARGUMENT;
+                case THIRD_PARTY_AUTH_ERROR -> UNAUTHENTICATED;
+                case SENDER_ID_MISMATCH -> PERMISSION_DENIED;
+                case UNREGISTERED -> NOT_FOUND;
+                case QUOTA_EXCEEDED -> RESOURCE_EXHAUSTED;
+                case INTERNAL -> INTERNAL;
+                case UNAVAILABLE -> UNAVAILABLE;
+            };
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.fcmretryplayground.application.notification.fanout;
+
+import com.example.fcmretryplayground.application.notification.NotificationLanes;
+import com.example.fcmretryplayground.application.notification.NotificationService;
+import com.example.fcmretryplayground.config.NotificationFanOutProperties;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationCommand;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import com.example.fcmretryplayground.domain.notification.handler.RecipientIds;
+import com.example.fcmretryplayground.domain.notification.handler.Sender;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis Stream 의 수신자 묶음을 consumer group 으로 나누어 전송한다.
+ * 전송을 마친 항목만 ACK 후 삭제하고, 오래 ACK 되지 않은 항목(처리하던 노드 종료)은 주기적으로 가져와 다시 전송한다.
+ */
+@Component
+@Slf4j
+public class NotificationFanOutConsumer {
+
+    private static final int CLAIM_SCAN_SIZE = 100;
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationService notificationService;
+    private final NotificationLanes notificationLanes;
+    private final NotificationFanOutProperties properties;
+    private final String consumerName;
+
+    public NotificationFanOutConsumer(StringRedisTemplate redisTemplate, NotificationService notificationService,
+                                      NotificationLanes notificationLanes,
+                                      NotificationFanOutProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.notificationService = notificationService;
+        this.notificationLanes = notificationLanes;
+        this.properties = properties;
+        this.consumerName = properties.consumerName().isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() : properties.consumerName();
+    }
+
+    public String getConsumerName() {
+        return consumerName;
+    }
+
+    // Stream 이 없으면 함께 만든다. 이미 group 이 있으면(BUSYGROUP) 무시한다.
+    public void createGroupIfAbsent() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands().xGroupCreate(
+                    redisTemplate.getStringSerializer().serialize(properties.streamKey()),
+                    properties.group(), ReadOffset.from("0-0"), true));
+        } catch (RedisSystemException e) {
+            log.debug("Notification Fan-out group 이미 존재: {}", properties.group());
+        }
+    }
+
+    public void onMessage(MapRecord<String, String, String> record) {
+        NotificationCommand command = toCommand(record.getValue());
+        CompletableFuture.runAsync(() -> notificationService.send(command),
+                        notificationLanes.executorFor(command.type()))
+                .thenRun(() -> acknowledge(record))
+                .exceptionally(e -> {
+                    // ACK 하지 않은 항목은 claimMinIdle 이후 다시 전송된다.
+                    log.error("Notification Fan-out 전송 실패 - recordId: {}, {}", record.getId(), e.getMessage());
+                    return null;
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${notification.fan-out.claim-interval:30s}")
+    public void claimAbandoned() {
+        if (!properties.enabled()) {
+            return;
+        }
+        StreamOperations<String, String, String> streamOperations = redisTemplate.opsForStream();
+        PendingMessages pendingMessages = streamOperations.pending(
+                properties.streamKey(), properties.group(), Range.unbounded(), CLAIM_SCAN_SIZE);
+        for (PendingMessage pendingMessage : pendingMessages) {
+            if (pendingMessage.getElapsedTimeSinceLastDelivery().compareTo(properties.claimMinIdle()) < 0) {
+                continue;
+            }
+            if (pendingMessage.getTotalDeliveryCount() >= properties.maxDeliveries()) {
+                log.error("Notification Fan-out 최대 전달 횟수 초과 - recordId: {}", pendingMessage.getId());
+                acknowledge(pendingMessage.getId().getValue());
+                continue;
+            }
+            streamOperations.claim(properties.streamKey(), properties.group(), consumerName,
+                            properties.claimMinIdle(), pendingMessage.getId())
+                    .forEach(this::onMessage);
+        }
+    }
+
+    private NotificationCommand toCommand(Map<String, String> fields) {
+        String senderId = fields.get(NotificationFanOutPublisher.SENDER_ID_FIELD);
+        return new NotificationCommand(
+                senderId == null ? null : new Sender(Long.parseLong(senderId), null),
+                RecipientIds.split(fields.get(NotificationFanOutPublisher.RECIPIENT_IDS_FIELD)),
+                NotificationType.valueOf(fields.get(NotificationFanOutPublisher.TYPE_FIELD)),
+                fields.get(NotificationFanOutPublisher.NOTIFICATION_ID_FIELD));
+    }
+
+    private void acknowledge(MapRecord<String, String, String> record) {
+        acknowledge(record.getId().getValue());
+    }
+
+    // group 이 하나이므로 ACK 한 항목은 Stream 에서도 삭제해 Stream 이 계속 커지지 않도록 한다.
+    private void acknowledge(String recordId) {
+        try {
+            redisTemplate.opsForStream().acknowledge(properties.streamKey(), properties.group(), recordId);
+            redisTemplate.opsForStream().delete(properties.streamKey(), recordId);
+        } catch (DataAccessException e) {
+            log.warn("Notification Fan-out ACK 실패 - recordId: {}, {}", recordId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.fcmretryplayground.application.notification.fanout;
+
+import com.example.fcmretryplayground.config.NotificationFanOutProperties;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationCommand;
+import com.example.fcmretryplayground.domain.notification.handler.Recipient;
+import com.example.fcmretryplayground.domain.notification.handler.RecipientIds;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * NotificationCommand 를 chunkSize 명씩 나누어 Redis Stream 에 넣는다.
+ * 각 항목은 consumer group 에 속한 노드 중 하나가 가져가 전송한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationFanOutPublisher {
+
+    static final String NOTIFICATION_ID_FIELD = "notificationId";
+    static final String TYPE_FIELD = "type";
+    static final String SENDER_ID_FIELD = "senderId";
+    static final String RECIPIENT_IDS_FIELD = "recipientIds";
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationFanOutProperties properties;
+
+    public void publish(NotificationCommand command) {
+        List<Recipient> recipients = command.recipients();
+        for (int from = 0; from < recipients.size(); from += properties.chunkSize()) {
+            Map<String, String> fields = new HashMap<>();
+            fields.put(NOTIFICATION_ID_FIELD, command.notificationId());
+            fields.put(TYPE_FIELD, command.type().name());
+            if (command.sender() != null) {
+                fields.put(SENDER_ID_FIELD, String.valueOf(command.sender().getId()));
+            }
+            fields.put(RECIPIENT_IDS_FIELD, RecipientIds.join(
+                    recipients.subList(from, Math.min(from + properties.chunkSize(), recipients.size()))));
+            redisTemplate.opsForStream().add(StreamRecords.newRecord().in(properties.streamKey()).ofMap(fields));
+        }
+    }
+}
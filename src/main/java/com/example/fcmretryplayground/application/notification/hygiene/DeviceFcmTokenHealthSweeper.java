@@ -0,0 +1,149 @@
+package com.example.fcmretryplayground.application.notification.hygiene;
+
+import com.example.fcmretryplayground.application.notification.FcmClient;
+import com.example.fcmretryplayground.common.FcmCircuitOpenException;
+import com.example.fcmretryplayground.config.DeviceFcmTokenHealthProperties;
+import com.example.fcmretryplayground.config.SchedulingConfig;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenHealthBatch;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenHealthRepository;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenInvalidationBuffer;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 한가한 시간대에 ACTIVE 토큰을 dry-run sendEach 로 점검하여, 실제 알림을 보내기 전에 무효 토큰을 INVALID 로 바꾼다.
+ * - 진행 위치를 JOB_CHECKPOINT 에 기록하므로 maxDuration 이 지나 중단되어도 다음 실행에서 이어서 점검한다.
+ * - ratePerSecond 를 넘지 않도록 묶음 사이에 대기하며, FCM 호출은 FcmClient 를 거치므로 실제 전송과 같은 rate limiter 와 서킷을 따른다.
+ * - FCM 호출이 실패하거나 서킷이 열리면 진행 위치를 되돌리고 이번 실행을 끝낸다.
+ * - 최대 maxDuration 동안 실행되므로 스케줄러 스레드를 점유하지 않도록 maintenanceExecutor 에서 실행한다.
+ */
+@Component
+@Slf4j
+public class DeviceFcmTokenHealthSweeper {
+
+    private static final String JOB_NAME = "device-fcm-token-health";
+
+    private final DeviceFcmTokenHealthRepository deviceFcmTokenHealthRepository;
+    private final DeviceFcmTokenInvalidationBuffer deviceFcmTokenInvalidationBuffer;
+    private final FcmClient fcmClient;
+    private final DeviceFcmTokenHealthProperties properties;
+    private final AsyncTaskExecutor maintenanceExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public DeviceFcmTokenHealthSweeper(DeviceFcmTokenHealthRepository deviceFcmTokenHealthRepository,
+                                       DeviceFcmTokenInvalidationBuffer deviceFcmTokenInvalidationBuffer,
+                                       FcmClient fcmClient,
+                                       DeviceFcmTokenHealthProperties properties,
+                                       @Qualifier(SchedulingConfig.MAINTENANCE_EXECUTOR)
+                                       AsyncTaskExecutor maintenanceExecutor) {
+        this.deviceFcmTokenHealthRepository = deviceFcmTokenHealthRepository;
+        this.deviceFcmTokenInvalidationBuffer = deviceFcmTokenInvalidationBuffer;
+        this.fcmClient = fcmClient;
+        this.properties = properties;
+        this.maintenanceExecutor = maintenanceExecutor;
+    }
+
+    // 매일 02:00 실행
+    @Scheduled(cron = "${notification.token-health.cron:0 0 2 * * *}",
+            zone = "${notification.token-health.zone:Asia/Seoul}")
+    public void sweep() {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Device FCM Token 점검 건너뜀 - 이전 점검이 진행 중");
+            return;
+        }
+        try {
+            maintenanceExecutor.execute(() -> {
+                try {
+                    run();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.set(false);
+            log.warn("Device FCM Token 점검 건너뜀 - reason: {}", e.getMessage());
+        }
+    }
+
+    private void run() {
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + properties.maxDuration().toNanos();
+        int checked = 0;
+        int invalid = 0;
+        while (System.nanoTime() < deadlineNanos) {
+            DeviceFcmTokenHealthBatch batch = deviceFcmTokenHealthRepository.claim(JOB_NAME, properties.batchSize());
+            if (batch.deviceFcmTokens().isEmpty()) {
+                log.info("Device FCM Token 점검 - 전체 순회 완료");
+                break;
+            }
+            try {
+                invalid += check(batch.deviceFcmTokens());
+            } catch (FirebaseMessagingException | FcmCircuitOpenException e) {
+                deviceFcmTokenHealthRepository.rewind(JOB_NAME, batch);
+                log.warn("Device FCM Token 점검 중단 - lastId: {}, reason: {}", batch.previousId(), e.getMessage());
+                break;
+            }
+            checked += batch.deviceFcmTokens().size();
+            if (!pace(startNanos, checked)) {
+                break;
+            }
+        }
+        if (checked > 0) {
+            log.info("Device FCM Token 점검 - checked: {}, invalid: {}", checked, invalid);
+        }
+    }
+
+    // 무효 토큰은 무효화 버퍼에 넣고 무효 토큰 수를 반환한다.
+    private int check(List<DeviceFcmTokenView> deviceFcmTokens) throws FirebaseMessagingException {
+        BatchResponse batchResponse = fcmClient.sendEachDryRun(deviceFcmTokens.stream()
+                .map(deviceFcmToken -> Message.builder().setToken(deviceFcmToken.fcmToken()).build())
+                .toList());
+        List<SendResponse> responses = batchResponse.getResponses();
+        int invalid = 0;
+        for (int i = 0; i < responses.size(); i++) {
+            SendResponse response = responses.get(i);
+            if (response.isSuccessful() || !isInvalidToken(response.getException().getMessagingErrorCode())) {
+                continue;
+            }
+            deviceFcmTokenInvalidationBuffer.add(deviceFcmTokens.get(i).id());
+            invalid++;
+        }
+        return invalid;
+    }
+
+    private boolean isInvalidToken(MessagingErrorCode code) {
+        return code == MessagingErrorCode.UNREGISTERED || code == MessagingErrorCode.INVALID_ARGUMENT;
+    }
+
+    // 지금까지 점검한 토큰 수가 ratePerSecond 를 넘지 않는 시점까지 대기한다.
+    private boolean pace(long startNanos, int checked) {
+        long expectedNanos = (long) (checked / properties.ratePerSecond() * TimeUnit.SECONDS.toNanos(1));
+        long waitNanos = startNanos + expectedNanos - System.nanoTime();
+        if (waitNanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.fcmretryplayground.application.notification.hygiene;
+
+import com.example.fcmretryplayground.config.DeviceFcmTokenHygieneProperties;
+import com.example.fcmretryplayground.config.SchedulingConfig;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenPurgeRepository;
+import com.example.fcmretryplayground.domain.notification.FcmTokenStatus;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * INVALID / BLOCKED 토큰을 주기적으로 삭제해 DEVICE_FCM_TOKEN 테이블과 발송 대상 조회 범위를 줄인다.
+ * 삭제된 토큰을 참조하는 READY / FAIL 로그는 복구 시 토큰이 없으므로 UNREGISTERED 로 실패 처리된다.
+ * 전송 대상 토큰만 캐시하므로 삭제 후 토큰 캐시를 지우지 않는다.
+ * 삭제 사이에 purgePause 만큼 대기하므로 스케줄러 스레드를 점유하지 않도록 maintenanceExecutor 에서 실행한다.
+ */
+@Component
+@Slf4j
+public class DeviceFcmTokenPurgeScheduler {
+
+    private final DeviceFcmTokenPurgeRepository deviceFcmTokenPurgeRepository;
+    private final DeviceFcmTokenHygieneProperties properties;
+    private final AsyncTaskExecutor maintenanceExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public DeviceFcmTokenPurgeScheduler(DeviceFcmTokenPurgeRepository deviceFcmTokenPurgeRepository,
+                                        DeviceFcmTokenHygieneProperties properties,
+                                        @Qualifier(SchedulingConfig.MAINTENANCE_EXECUTOR)
+                                        AsyncTaskExecutor maintenanceExecutor) {
+        this.deviceFcmTokenPurgeRepository = deviceFcmTokenPurgeRepository;
+        this.properties = properties;
+        this.maintenanceExecutor = maintenanceExecutor;
+    }
+
+    // 매일 04:00 실행
+    @Scheduled(cron = "${notification.token-hygiene.purge-cron:0 0 4 * * *}",
+            zone = "${notification.token-hygiene.zone:Asia/Seoul}")
+    public void purge() {
+        if (!properties.purgeEnabled()) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Device FCM Token 삭제 건너뜀 - 이전 삭제가 진행 중");
+            return;
+        }
+        try {
+            maintenanceExecutor.execute(() -> {
+                try {
+                    run();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.set(false);
+            log.warn("Device FCM Token 삭제 건너뜀 - reason: {}", e.getMessage());
+        }
+    }
+
+    private void run() {
+        for (FcmTokenStatus status : properties.purgeStatuses()) {
+            int purged = purge(status);
+            if (purged > 0) {
+                log.info("Device FCM Token 삭제 - status: {}, count: {}", status, purged);
+            }
+            // 종료 중이면 남은 상태는 다음 실행에서 삭제한다.
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    private int purge(FcmTokenStatus status) {
+        int purged = 0;
+        while (true) {
+            int deleted = deviceFcmTokenPurgeRepository.purge(status, properties.purgeChunkSize());
+            purged += deleted;
+            if (deleted < properties.purgeChunkSize() || !pause()) {
+                return purged;
+            }
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.purgePause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.fcmretryplayground.application.notification.idempotency;
+
+import com.example.fcmretryplayground.config.NotificationSendGuardProperties;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 단일 노드용 멱등 가드. maxEntries 를 넘으면 가장 오래 사용되지 않은 키부터 제거하는 LRU 로 메모리 사용량을 제한한다.
+ */
+public class InMemoryNotificationSendGuard implements NotificationSendGuard {
+
+    private final NotificationSendGuardProperties properties;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+
+    public InMemoryNotificationSendGuard(NotificationSendGuardProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    InMemoryNotificationSendGuard(NotificationSendGuardProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > properties.maxEntries();
+            }
+        };
+    }
+
+    @Override
+    public synchronized List<SendPermit> acquire(List<String> keys) {
+        long now = clock.getAsLong();
+        List<SendPermit> permits = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Entry entry = entries.get(key);
+            if (entry == null || entry.expiresAt() <= now) {
+                entries.put(key, new Entry(false, now + properties.inFlightTtl().toMillis()));
+                permits.add(SendPermit.ACQUIRED);
+            } else {
+                permits.add(entry.sent() ? SendPermit.ALREADY_SENT : SendPermit.IN_FLIGHT);
+            }
+        }
+        return permits;
+    }
+
+    @Override
+    public synchronized void markSent(Collection<String> keys) {
+        long expiresAt = clock.getAsLong() + properties.sentTtl().toMillis();
+        keys.forEach(key -> entries.put(key, new Entry(true, expiresAt)));
+    }
+
+    @Override
+    public synchronized void release(Collection<String> keys) {
+        keys.forEach(key -> {
+            Entry entry = entries.get(key);
+            if (entry != null && !entry.sent()) {
+                entries.remove(key);
+            }
+        });
+    }
+
+    private record Entry(boolean sent, long expiresAt) {
+    }
+}
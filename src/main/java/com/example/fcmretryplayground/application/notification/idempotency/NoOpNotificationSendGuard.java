@@ -0,0 +1,22 @@
+package com.example.fcmretryplayground.application.notification.idempotency;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// notification.send-guard.enabled=false 인 경우 모든 전송을 허용한다.
+public class NoOpNotificationSendGuard implements NotificationSendGuard {
+
+    @Override
+    public List<SendPermit> acquire(List<String> keys) {
+        return Collections.nCopies(keys.size(), SendPermit.ACQUIRED);
+    }
+
+    @Override
+    public void markSent(Collection<String> keys) {
+    }
+
+    @Override
+    public void release(Collection<String> keys) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.fcmretryplayground.application.notification.idempotency;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * (notificationId, 토큰 ID) 단위로 FCM 전송을 한 번만 수행하도록 막는 멱등 가드.
+ * 중복 발행, 재시도 큐, 복구 스케줄러가 같은 알림을 같은 기기에 다시 보내는 것을 FCM 호출 전에 걸러낸다.
+ */
+public interface NotificationSendGuard {
+
+    static String key(String notificationId, Long deviceFcmTokenId) {
+        return notificationId + ":" + deviceFcmTokenId;
+    }
+
+    static String topicKey(String notificationId, String topic) {
+        return notificationId + ":topic:" + topic;
+    }
+
+    // 요약 알림 버퍼에 (notificationId, 사용자) 를 한 번만 넣기 위한 키
+    static String coalescingKey(String notificationId, Long userId) {
+        return notificationId + ":coalescing:" + userId;
+    }
+
+    // 키 순서대로 전송 허가 결과를 반환한다.
+    List<SendPermit> acquire(List<String> keys);
+
+    void markSent(Collection<String> keys);
+
+    // 전송에 실패한 키를 해제해 재시도 / 복구가 다시 전송할 수 있도록 한다.
+    void release(Collection<String> keys);
+}
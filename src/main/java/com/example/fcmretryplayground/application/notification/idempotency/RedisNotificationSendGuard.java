@@ -0,0 +1,111 @@
+package com.example.fcmretryplayground.application.notification.idempotency;
+
+import com.example.fcmretryplayground.config.NotificationSendGuardProperties;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * 모든 노드가 공유하는 Redis 멱등 가드.
+ * 전송 전에 SET NX PX 로 '전송 중' 을 표시하고, 성공하면 '전송 완료' 로 바꾸어 sentTtl 동안 보관한다.
+ * Redis 장애 시에는 알림 유실을 피하기 위해 전송을 허용한다.
+ */
+@Slf4j
+public class RedisNotificationSendGuard implements NotificationSendGuard {
+
+    private static final String KEY_PREFIX = "notification:send-guard:";
+    private static final String SENDING = "SENDING";
+    private static final String SENT = "SENT";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ACQUIRE_SCRIPT = RedisScript.of("""
+            local permits = {}
+            for i, key in ipairs(KEYS) do
+                if redis.call('SET', key, 'SENDING', 'NX', 'PX', ARGV[1]) then
+                    permits[i] = 'ACQUIRED'
+                elseif redis.call('GET', key) == 'SENT' then
+                    permits[i] = 'ALREADY_SENT'
+                else
+                    permits[i] = 'IN_FLIGHT'
+                end
+            end
+            return permits
+            """, List.class);
+
+    private static final RedisScript<Long> MARK_SENT_SCRIPT = RedisScript.of("""
+            for _, key in ipairs(KEYS) do
+                redis.call('SET', key, 'SENT', 'PX', ARGV[1])
+            end
+            return #KEYS
+            """, Long.class);
+
+    // 다른 노드가 이미 전송 완료로 바꾼 키는 지우지 않는다.
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            local released = 0
+            for _, key in ipairs(KEYS) do
+                if redis.call('GET', key) == 'SENDING' then
+                    redis.call('DEL', key)
+                    released = released + 1
+                end
+            end
+            return released
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationSendGuardProperties properties;
+
+    public RedisNotificationSendGuard(StringRedisTemplate redisTemplate, NotificationSendGuardProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SendPermit> acquire(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        try {
+            List<String> permits = redisTemplate.execute(ACQUIRE_SCRIPT, redisKeys(keys),
+                    String.valueOf(properties.inFlightTtl().toMillis()));
+            if (permits != null && permits.size() == keys.size()) {
+                return permits.stream().map(SendPermit::valueOf).toList();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Notification Send Guard 조회 실패, 전송을 허용합니다. {}", e.getMessage());
+        }
+        return Collections.nCopies(keys.size(), SendPermit.ACQUIRED);
+    }
+
+    @Override
+    public void markSent(Collection<String> keys) {
+        execute(MARK_SENT_SCRIPT, keys, String.valueOf(properties.sentTtl().toMillis()));
+    }
+
+    @Override
+    public void release(Collection<String> keys) {
+        execute(RELEASE_SCRIPT, keys);
+    }
+
+    private void execute(RedisScript<Long> script, Collection<String> keys, String... args) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.execute(script, redisKeys(keys), (Object[]) args);
+        } catch (DataAccessException e) {
+            log.warn("Notification Send Guard 갱신 실패 - keys: {}, {}", keys.size(), e.getMessage());
+        }
+    }
+
+    private List<String> redisKeys(Collection<String> keys) {
+        List<String> redisKeys = new ArrayList<>(keys.size());
+        keys.forEach(key -> redisKeys.add(KEY_PREFIX + key));
+        return redisKeys;
+    }
+}
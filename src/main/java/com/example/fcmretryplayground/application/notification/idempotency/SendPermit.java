@@ -0,0 +1,10 @@
+package com.example.fcmretryplayground.application.notification.idempotency;
+
+public enum SendPermit {
+    // 전송해도 된다. 전송 후 markSent 또는 release 를 호출해야 한다.
+    ACQUIRED,
+    // 이미 전송에 성공했다.
+    ALREADY_SENT,
+    // 다른 스레드 / 노드가 전송 중이다.
+    IN_FLIGHT
+}
@@ -0,0 +1,140 @@
+package com.example.fcmretryplayground.application.notification.metrics;
+
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView;
+import com.example.fcmretryplayground.domain.notification.DeviceType;
+import com.example.fcmretryplayground.domain.notification.NotificationStatus;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import com.google.firebase.messaging.MessagingErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/**
+ * 알림 전송 단계별 Micrometer 지표.
+ * - notification.send : send() 전체 소요 시간 (type, priority)
+ * - notification.audience.lookup : 수신 토큰 조회 시간
+ * - notification.log.insert : READY 로그 기록 시간
+ * - notification.fcm.call : FCM 호출 시간, 전송 허용량 대기 시간은 제외한다. (operation, outcome)
+ * - notification.tokens : 전송 대상 토큰 수 (type, device)
+ * - notification.deliveries : 토큰별 전송 결과 (device, status, error_code)
+ * 모든 Timer 는 percentile histogram 을 함께 게시한다.
+ * 태그 조합별 Meter 는 처음 사용할 때 한 번만 등록하고 이후에는 캐시에서 꺼내 쓴다.
+ */
+@Component
+public class NotificationMetrics {
+
+    private static final String NONE = "NONE";
+
+    private final MeterRegistry registry;
+    private final Timer audienceLookupTimer;
+    private final Timer logInsertTimer;
+    private final Map<NotificationType, Timer> sendTimers = new EnumMap<>(NotificationType.class);
+    private final Map<FcmCallKey, Timer> fcmCallTimers = new ConcurrentHashMap<>();
+    private final Map<TokenKey, Counter> tokenCounters = new ConcurrentHashMap<>();
+    private final Map<DeliveryKey, Counter> deliveryCounters = new ConcurrentHashMap<>();
+
+    public NotificationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.audienceLookupTimer = timer("notification.audience.lookup")
+                .description("수신 토큰 조회 시간")
+                .register(registry);
+        this.logInsertTimer = timer("notification.log.insert")
+                .description("READY 로그 기록 시간")
+                .register(registry);
+        for (NotificationType type : NotificationType.values()) {
+            sendTimers.put(type, timer("notification.send")
+                    .description("알림 1건 전송 전체 시간")
+                    .tag("type", type.name())
+                    .tag("priority", type.getPriority().name())
+                    .register(registry));
+        }
+    }
+
+    public <T> T timeAudienceLookup(Supplier<T> lookup) {
+        return audienceLookupTimer.record(lookup);
+    }
+
+    public <T> T timeLogInsert(Supplier<T> insert) {
+        return logInsertTimer.record(insert);
+    }
+
+    public void recordSend(NotificationType type, long elapsedNanos) {
+        sendTimers.get(type).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFcmCall(FcmOperation operation, boolean success, long elapsedNanos) {
+        fcmCallTimers.computeIfAbsent(new FcmCallKey(operation, success), key -> timer("notification.fcm.call")
+                        .description("FCM 호출 시간")
+                        .tag("operation", key.operation().getTagValue())
+                        .tag("outcome", key.success() ? "success" : "error")
+                        .register(registry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTokens(NotificationType type, List<DeviceFcmTokenView> deviceFcmTokens) {
+        Map<DeviceType, Integer> counts = new EnumMap<>(DeviceType.class);
+        for (DeviceFcmTokenView deviceFcmToken : deviceFcmTokens) {
+            counts.merge(deviceFcmToken.deviceType(), 1, Integer::sum);
+        }
+        counts.forEach((deviceType, count) -> tokenCounters.computeIfAbsent(new TokenKey(type, deviceType),
+                        key -> Counter.builder("notification.tokens")
+                                .description("전송 대상 토큰 수")
+                                .tag("type", key.type().name())
+                                .tag("device", key.deviceType().name())
+                                .register(registry))
+                .increment(count));
+    }
+
+    // 복구 스케줄러가 재전송한 알림은 NotificationType 을 알 수 없으므로 type 이 null 이다.
+    public void recordDelivery(NotificationType type, DeviceType deviceType, NotificationStatus status,
+                               MessagingErrorCode errorCode) {
+        deliveryCounters.computeIfAbsent(new DeliveryKey(type, deviceType, status, errorCode),
+                        key -> Counter.builder("notification.deliveries")
+                                .description("토큰별 전송 결과")
+                                .tag("type", key.type() == null ? NONE : key.type().name())
+                                .tag("device", key.deviceType() == null ? NONE : key.deviceType().name())
+                                .tag("status", key.status().name())
+                                .tag("error_code", key.errorCode() == null ? NONE : key.errorCode().name())
+                                .register(registry))
+                .increment();
+    }
+
+    private static Timer.Builder timer(String name) {
+        return Timer.builder(name).publishPercentileHistogram();
+    }
+
+    @Getter
+    public enum FcmOperation {
+        SEND("send"),
+        SEND_ASYNC("sendAsync"),
+        SEND_EACH("sendEach"),
+        SEND_EACH_DRY_RUN("sendEachDryRun"),
+        SEND_EACH_FOR_MULTICAST("sendEachForMulticast"),
+        SUBSCRIBE_TO_TOPIC("subscribeToTopic"),
+        UNSUBSCRIBE_FROM_TOPIC("unsubscribeFromTopic");
+
+        private final String tagValue;
+
+        FcmOperation(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
+
+    private record FcmCallKey(FcmOperation operation, boolean success) {
+    }
+
+    private record TokenKey(NotificationType type, DeviceType deviceType) {
+    }
+
+    private record DeliveryKey(NotificationType type, DeviceType deviceType, NotificationStatus status,
+                               MessagingErrorCode errorCode) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.fcmretryplayground.application.notification.outbox;
+
+import com.example.fcmretryplayground.config.NotificationOutboxProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * notify-on-insert 가 켜져 있으면 outbox 가 커밋된 뒤 Redis Pub/Sub 으로 모든 노드의 relay 를 깨운다.
+ * 알림이 유실되어도 relay 의 poll 주기에 처리되므로, 발행 실패는 무시한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxNotifier {
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationOutboxProperties properties;
+
+    public void notifyInserted() {
+        if (!properties.notifyOnInsert()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish();
+            }
+        });
+    }
+
+    private void publish() {
+        try {
+            redisTemplate.convertAndSend(NotificationOutboxRelay.WAKE_UP_CHANNEL, "");
+        } catch (DataAccessException e) {
+            log.warn("Notification Outbox 알림 발행 실패: {}", e.getMessage());
+        }
+    }
+}
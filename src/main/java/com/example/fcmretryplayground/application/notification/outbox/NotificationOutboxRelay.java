@@ -0,0 +1,140 @@
+package com.example.fcmretryplayground.application.notification.outbox;
+
+import com.example.fcmretryplayground.application.notification.NotificationDispatcher;
+import com.example.fcmretryplayground.application.notification.NotificationLanes;
+import com.example.fcmretryplayground.config.NotificationOutboxProperties;
+import com.example.fcmretryplayground.config.SchedulingConfig;
+import com.example.fcmretryplayground.domain.notification.NotificationOutboxRepository;
+import com.example.fcmretryplayground.domain.notification.NotificationOutboxRepository.ClaimedNotificationOutbox;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * outbox 를 선점해 전송하는 relay.
+ * 선점한 outbox 는 NotificationType 우선순위별 실행기에서 병렬로 전송하고, 전송을 마친 outbox 만 삭제한다.
+ * 전송 중 노드가 종료되면 선점 유지 시간이 지난 뒤 다른 노드가 다시 선점하므로 최소 한 번 전송된다.
+ * 스케줄러와 Redis pub/sub 리스너는 신호만 보내고, 순회는 outboxRelayExecutor 에서 실행한다.
+ */
+@Component
+@Slf4j
+public class NotificationOutboxRelay {
+
+    public static final String WAKE_UP_CHANNEL = "notification:outbox";
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationLanes notificationLanes;
+    private final NotificationOutboxProperties properties;
+    private final AsyncTaskExecutor relayExecutor;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean wakeUpRequested = new AtomicBoolean();
+
+    public NotificationOutboxRelay(NotificationOutboxRepository outboxRepository,
+                                   NotificationDispatcher notificationDispatcher,
+                                   NotificationLanes notificationLanes,
+                                   NotificationOutboxProperties properties,
+                                   @Qualifier(SchedulingConfig.OUTBOX_RELAY_EXECUTOR)
+                                   AsyncTaskExecutor relayExecutor) {
+        this.outboxRepository = outboxRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.notificationLanes = notificationLanes;
+        this.properties = properties;
+        this.relayExecutor = relayExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:500ms}")
+    public void poll() {
+        if (!properties.enabled()) {
+            return;
+        }
+        signal();
+    }
+
+    // notify-on-insert 로 새 outbox 가 커밋되었음을 전달받은 경우
+    public void wakeUp() {
+        signal();
+    }
+
+    // 이미 순회 중이면 순회 중인 스레드가 wakeUpRequested 를 확인해 한 번 더 순회한다.
+    private void signal() {
+        wakeUpRequested.set(true);
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            relayExecutor.execute(this::drain);
+        } catch (TaskRejectedException e) {
+            draining.set(false);
+            log.warn("Notification Outbox relay 실행 거부: {}", e.getMessage());
+        }
+    }
+
+    private void drain() {
+        try {
+            while (wakeUpRequested.getAndSet(false)) {
+                relay();
+            }
+        } catch (Exception e) {
+            log.error("Notification Outbox relay 실패: {}", e.getMessage());
+        } finally {
+            draining.set(false);
+        }
+        // 순회를 마치고 draining 을 내리기 전에 들어온 신호는 여기서 다시 실행한다.
+        if (wakeUpRequested.get()) {
+            signal();
+        }
+    }
+
+    private void relay() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseExpiredAt = now.minus(properties.lease());
+        long afterId = 0;
+        while (true) {
+            List<ClaimedNotificationOutbox> outboxes = outboxRepository.claim(
+                    afterId, now, leaseExpiredAt, properties.batchSize());
+            if (outboxes.isEmpty()) {
+                return;
+            }
+            afterId = outboxes.get(outboxes.size() - 1).id();
+
+            outboxRepository.delete(send(outboxes));
+
+            if (outboxes.size() < properties.batchSize()) {
+                return;
+            }
+        }
+    }
+
+    // 전송을 마친 outbox ID 를 반환한다. 실패한 outbox 는 선점 유지 시간이 지난 뒤 다시 선점된다.
+    private List<Long> send(List<ClaimedNotificationOutbox> outboxes) {
+        List<CompletableFuture<Long>> futures = new ArrayList<>(outboxes.size());
+        for (ClaimedNotificationOutbox outbox : outboxes) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                notificationDispatcher.dispatch(outbox.command());
+                return outbox.id();
+            }, notificationLanes.executorFor(outbox.command().type())).exceptionally(e -> {
+                log.error("Notification Outbox 전송 실패 - outboxId: {}, {}", outbox.id(), e.getMessage());
+                return null;
+            }));
+        }
+
+        List<Long> sentIds = new ArrayList<>(outboxes.size());
+        for (CompletableFuture<Long> future : futures) {
+            Long sentId = future.join();
+            if (sentId != null) {
+                sentIds.add(sentId);
+            }
+        }
+        return sentIds;
+    }
+}
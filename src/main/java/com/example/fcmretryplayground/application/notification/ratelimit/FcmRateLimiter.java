@@ -0,0 +1,27 @@
+package com.example.fcmretryplayground.application.notification.ratelimit;
+
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+
+/**
+ * FCM 호출 전에 전송 허용량을 확보하는 토큰 버킷 rate limiter.
+ * AIMD 방식으로 QUOTA_EXCEEDED / UNAVAILABLE 응답을 받으면 전송 속도를 곱셈으로 줄이고,
+ * 성공하면 덧셈으로 조금씩 늘려 실제 할당량에 가까운 속도를 유지한다.
+ * 전송 속도 중 reservedShare 만큼은 HIGH 우선순위 전용으로 예약하여, NORMAL 대량 발송이 밀려 있어도 HIGH 는 그 뒤에서 기다리지 않는다.
+ */
+public interface FcmRateLimiter {
+
+    // permits 건을 보낼 수 있을 때까지 대기한다.
+    default void acquire(int permits) {
+        acquire(permits, NotificationPriority.NORMAL);
+    }
+
+    // NORMAL 은 공유 허용량만 사용하고, HIGH 는 예약 허용량을 먼저 사용한 뒤 남은 공유 허용량을 빌려 쓴다.
+    void acquire(int permits, NotificationPriority priority);
+
+    void onSuccess();
+
+    void onThrottled();
+
+    // 현재 초당 허용 전송 수 (예약 허용량 포함)
+    double currentRate();
+}
@@ -0,0 +1,119 @@
+package com.example.fcmretryplayground.application.notification.ratelimit;
+
+import com.example.fcmretryplayground.config.FcmRateLimitProperties;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단일 노드용 인메모리 토큰 버킷.
+ * 토큰이 부족하면 음수(예약)로 차감하고 부족분이 채워질 때까지만 대기하므로, 요청 순서대로 공정하게 허용량을 받는다.
+ * 버킷은 공유 버킷(rate * (1 - reservedShare))과 HIGH 전용 예약 버킷(rate * reservedShare)으로 나뉜다.
+ * rate 감소는 증가와 관계없이 adjustInterval 마다 적용하고, 증가는 마지막 증가와 마지막 감소 후 adjustInterval 이 지나야 적용한다.
+ */
+public class LocalTokenBucketRateLimiter implements FcmRateLimiter {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final FcmRateLimitProperties properties;
+    private final double reservedShare;
+
+    private double rate;
+    private double tokens;
+    private double reservedTokens;
+    private long lastRefillNanos;
+    private long lastIncreasedNanos;
+    private long lastDecreasedNanos;
+
+    public LocalTokenBucketRateLimiter(FcmRateLimitProperties properties) {
+        this(properties, 0);
+    }
+
+    public LocalTokenBucketRateLimiter(FcmRateLimitProperties properties, double reservedShare) {
+        this.properties = properties;
+        this.reservedShare = reservedShare;
+        this.rate = properties.initialRate();
+        this.tokens = capacity(sharedRate());
+        this.reservedTokens = capacity(reservedRate());
+        this.lastRefillNanos = System.nanoTime();
+        this.lastIncreasedNanos = lastRefillNanos - properties.adjustInterval().toNanos();
+        this.lastDecreasedNanos = lastIncreasedNanos;
+    }
+
+    @Override
+    public void acquire(int permits, NotificationPriority priority) {
+        long waitNanos;
+        synchronized (this) {
+            refill(System.nanoTime());
+            if (priority == NotificationPriority.HIGH && reservedShare > 0) {
+                waitNanos = acquireReserved(permits);
+            } else {
+                tokens -= permits;
+                waitNanos = tokens >= 0 ? 0 : (long) (-tokens / sharedRate() * NANOS_PER_SECOND);
+            }
+        }
+        RateLimitSleeper.sleepNanos(waitNanos);
+    }
+
+    // 예약 버킷이 부족하면 공유 버킷에 남은 토큰만 빌리고, 그래도 부족하면 예약 버킷이 채워질 때까지 대기한다.
+    // 공유 버킷을 음수로 만들지 않으므로 NORMAL 대기열 뒤에서 기다리지 않는다.
+    private long acquireReserved(int permits) {
+        double fromReserved = Math.min(permits, Math.max(0, reservedTokens));
+        double fromShared = Math.min(permits - fromReserved, Math.max(0, tokens));
+        double shortage = permits - fromReserved - fromShared;
+        reservedTokens -= fromReserved + shortage;
+        tokens -= fromShared;
+        return shortage <= 0 ? 0 : (long) (-reservedTokens / reservedRate() * NANOS_PER_SECOND);
+    }
+
+    @Override
+    public synchronized void onSuccess() {
+        long now = System.nanoTime();
+        // 감소 직후에는 증가시키지 않아 줄어든 rate 가 바로 회복되지 않게 한다.
+        if (elapsed(lastIncreasedNanos, now) && elapsed(lastDecreasedNanos, now)) {
+            refill(now);
+            rate = Math.min(properties.maxRate(), rate + properties.additiveIncrease());
+            lastIncreasedNanos = now;
+        }
+    }
+
+    @Override
+    public synchronized void onThrottled() {
+        long now = System.nanoTime();
+        // 증가와 별도로 간격을 두므로 성공 응답이 많아도 감소가 무시되지 않는다.
+        if (elapsed(lastDecreasedNanos, now)) {
+            refill(now);
+            rate = Math.max(properties.minRate(), rate * properties.multiplicativeDecrease());
+            tokens = Math.min(tokens, capacity(sharedRate()));
+            reservedTokens = Math.min(reservedTokens, capacity(reservedRate()));
+            lastDecreasedNanos = now;
+        }
+    }
+
+    @Override
+    public synchronized double currentRate() {
+        return rate;
+    }
+
+    private boolean elapsed(long adjustedNanos, long now) {
+        return now - adjustedNanos >= properties.adjustInterval().toNanos();
+    }
+
+    private void refill(long now) {
+        double elapsedSeconds = (now - lastRefillNanos) / NANOS_PER_SECOND;
+        tokens = Math.min(capacity(sharedRate()), tokens + elapsedSeconds * sharedRate());
+        reservedTokens = Math.min(capacity(reservedRate()), reservedTokens + elapsedSeconds * reservedRate());
+        lastRefillNanos = now;
+    }
+
+    private double sharedRate() {
+        return rate * (1 - reservedShare);
+    }
+
+    private double reservedRate() {
+        return rate * reservedShare;
+    }
+
+    private double capacity(double bucketRate) {
+        return Math.max(1, bucketRate * properties.burstSeconds());
+    }
+}
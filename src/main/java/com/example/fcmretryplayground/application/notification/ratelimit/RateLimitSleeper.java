@@ -0,0 +1,21 @@
+package com.example.fcmretryplayground.application.notification.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+final class RateLimitSleeper {
+
+    private RateLimitSleeper() {
+    }
+
+    static void sleepNanos(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("FCM 전송 허용량 대기 중 인터럽트 발생", e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.fcmretryplayground.application.notification.ratelimit;
+
+import com.example.fcmretryplayground.config.FcmRateLimitProperties;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * 모든 노드가 공유하는 Redis 토큰 버킷.
+ * 버킷 상태(tokens, ts)와 AIMD 로 조정되는 rate 를 하나의 Hash 에 저장하고, Lua 스크립트로 원자적으로 갱신한다.
+ * 시각은 노드 간 시계 차이를 피하기 위해 Redis TIME 을 사용한다.
+ * Redis 장애 시에는 로컬 토큰 버킷으로 대체한다.
+ */
+@Slf4j
+public class RedisTokenBucketRateLimiter implements FcmRateLimiter {
+
+    private static final String KEY = "notification:fcm-rate-limit";
+
+    // 부족한 토큰은 예약(음수)으로 차감하고, 대기해야 하는 시간(ms)을 반환한다.
+    // 공유 버킷(tokens)은 rate * (1 - share), HIGH 전용 버킷(reserved)은 rate * share 로 채운다.
+    // HIGH(ARGV[5] == '1')는 예약 버킷, 공유 버킷의 남은 토큰 순으로 사용하고 부족분은 예약 버킷에서만 기다린다.
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local permits = tonumber(ARGV[1])
+            local share = tonumber(ARGV[4])
+            local data = redis.call('HMGET', KEYS[1], 'tokens', 'ts', 'rate', 'reserved')
+            local rate = tonumber(data[3]) or tonumber(ARGV[2])
+            local sharedRate = rate * (1 - share)
+            local reservedRate = rate * share
+            local capacity = math.max(1, sharedRate * tonumber(ARGV[3]))
+            local reservedCapacity = math.max(1, reservedRate * tonumber(ARGV[3]))
+            local tokens = tonumber(data[1]) or capacity
+            local reserved = tonumber(data[4]) or reservedCapacity
+            local ts = tonumber(data[2]) or now
+            local elapsed = math.max(0, now - ts)
+            tokens = math.min(capacity, tokens + elapsed * sharedRate / 1000)
+            reserved = math.min(reservedCapacity, reserved + elapsed * reservedRate / 1000)
+            local wait = 0
+            if ARGV[5] == '1' and share > 0 then
+                local fromReserved = math.min(permits, math.max(0, reserved))
+                local fromShared = math.min(permits - fromReserved, math.max(0, tokens))
+                local shortage = permits - fromReserved - fromShared
+                reserved = reserved - fromReserved - shortage
+                tokens = tokens - fromShared
+                if shortage > 0 then
+                    wait = math.ceil(-reserved * 1000 / reservedRate)
+                end
+            else
+                tokens = tokens - permits
+                if tokens < 0 then
+                    wait = math.ceil(-tokens * 1000 / sharedRate)
+                end
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'reserved', tostring(reserved), 'ts', now,
+                'rate', tostring(rate))
+            redis.call('PEXPIRE', KEYS[1], 3600000)
+            return wait
+            """, Long.class);
+
+    // ARGV[1] 이 'increase' 면 덧셈 증가, 'decrease' 면 곱셈 감소.
+    // 감소는 마지막 감소 후 adjustInterval 마다, 증가는 마지막 증가와 마지막 감소 후 adjustInterval 이 지나야 적용한다.
+    private static final RedisScript<String> ADJUST_SCRIPT = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local data = redis.call('HMGET', KEYS[1], 'rate', 'increased_at', 'decreased_at')
+            local rate = tonumber(data[1]) or tonumber(ARGV[2])
+            local increasedAt = tonumber(data[2]) or 0
+            local decreasedAt = tonumber(data[3]) or 0
+            local interval = tonumber(ARGV[7])
+            if ARGV[1] == 'decrease' then
+                if now - decreasedAt < interval then
+                    return tostring(rate)
+                end
+                rate = math.max(tonumber(ARGV[3]), rate * tonumber(ARGV[6]))
+                redis.call('HSET', KEYS[1], 'rate', tostring(rate), 'decreased_at', now)
+            else
+                if now - increasedAt < interval or now - decreasedAt < interval then
+                    return tostring(rate)
+                end
+                rate = math.min(tonumber(ARGV[4]), rate + tonumber(ARGV[5]))
+                redis.call('HSET', KEYS[1], 'rate', tostring(rate), 'increased_at', now)
+            end
+            redis.call('PEXPIRE', KEYS[1], 3600000)
+            return tostring(rate)
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final FcmRateLimitProperties properties;
+    private final double reservedShare;
+    private final LocalTokenBucketRateLimiter fallback;
+
+    private volatile double lastKnownRate;
+    // 성공할 때마다 Redis 를 호출하지 않도록 노드 단위로도 증가 요청 간격을 둔다. (감소 요청은 항상 보낸다)
+    private volatile long lastIncreaseRequestedMillis;
+
+    public RedisTokenBucketRateLimiter(StringRedisTemplate redisTemplate, FcmRateLimitProperties properties,
+                                       double reservedShare) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.reservedShare = reservedShare;
+        this.fallback = new LocalTokenBucketRateLimiter(properties, reservedShare);
+        this.lastKnownRate = properties.initialRate();
+    }
+
+    @Override
+    public void acquire(int permits, NotificationPriority priority) {
+        Long waitMillis;
+        try {
+            waitMillis = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(KEY), String.valueOf(permits),
+                    String.valueOf(properties.initialRate()), String.valueOf(properties.burstSeconds()),
+                    String.valueOf(reservedShare), priority == NotificationPriority.HIGH ? "1" : "0");
+        } catch (DataAccessException e) {
+            log.warn("Redis rate limiter 사용 불가, 로컬 rate limiter 로 대체: {}", e.getMessage());
+            fallback.acquire(permits, priority);
+            return;
+        }
+        RateLimitSleeper.sleepNanos(TimeUnit.MILLISECONDS.toNanos(waitMillis == null ? 0 : waitMillis));
+    }
+
+    @Override
+    public void onSuccess() {
+        long now = System.currentTimeMillis();
+        if (now - lastIncreaseRequestedMillis >= properties.adjustInterval().toMillis()) {
+            lastIncreaseRequestedMillis = now;
+            adjust("increase");
+        }
+        fallback.onSuccess();
+    }
+
+    @Override
+    public void onThrottled() {
+        adjust("decrease");
+        fallback.onThrottled();
+    }
+
+    @Override
+    public double currentRate() {
+        return lastKnownRate;
+    }
+
+    private void adjust(String direction) {
+        try {
+            String rate = redisTemplate.execute(ADJUST_SCRIPT, List.of(KEY), direction,
+                    String.valueOf(properties.initialRate()), String.valueOf(properties.minRate()),
+                    String.valueOf(properties.maxRate()), String.valueOf(properties.additiveIncrease()),
+                    String.valueOf(properties.multiplicativeDecrease()),
+                    String.valueOf(properties.adjustInterval().toMillis()));
+            if (rate != null) {
+                lastKnownRate = Double.parseDouble(rate);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Redis rate limiter 조정 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.fcmretryplayground.application.notification.ratelimit;
+
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+
+// rate limit 을 사용하지 않을 때의 구현체
+public class UnlimitedFcmRateLimiter implements FcmRateLimiter {
+
+    @Override
+    public void acquire(int permits, NotificationPriority priority) {
+    }
+
+    @Override
+    public void onSuccess() {
+    }
+
+    @Override
+    public void onThrottled() {
+    }
+
+    @Override
+    public double currentRate() {
+        return Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.fcmretryplayground.application.notification.recovery;
+
+import com.example.fcmretryplayground.application.notification.NotificationDelivery;
+import com.example.fcmretryplayground.application.notification.NotificationLanes;
+import com.example.fcmretryplayground.application.notification.NotificationService;
+import com.example.fcmretryplayground.application.notification.circuitbreaker.FcmCircuitBreaker;
+import com.example.fcmretryplayground.config.NotificationRecoveryProperties;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenRepository;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView;
+import com.example.fcmretryplayground.domain.notification.FcmTokenStatus;
+import com.example.fcmretryplayground.domain.notification.NotificationContent;
+import com.example.fcmretryplayground.domain.notification.NotificationLogIdGenerator;
+import com.example.fcmretryplayground.domain.notification.NotificationLogRecoveryRepository;
+import com.example.fcmretryplayground.domain.notification.NotificationLogService;
+import com.example.fcmretryplayground.domain.notification.NotificationStatus;
+import com.example.fcmretryplayground.domain.notification.RecoverableNotificationLog;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+import com.google.firebase.messaging.MessagingErrorCode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * READY 로그와 재시도 가능한 오류 코드(오류 코드가 없는 경우 포함)의 FAIL 로그를 재전송하는 복구 스케줄러.
+ * (상태, 오류 코드) 별로 나눈 구간을 각각 ID 키셋 페이지네이션으로 순회하므로 로그 테이블 크기와 관계없이
+ * 조회 비용이 일정하며, 선점은 SKIP LOCKED 로 수행해 여러 노드가 동시에 실행되어도 같은 로그를 중복 전송하지 않는다.
+ * 재전송은 rate limiter 대기로 오래 걸릴 수 있으므로 스케줄러 스레드 대신 NORMAL 전송 실행기에서 수행한다.
+ * (복구되는 알림은 우선순위를 보관하지 않으므로 NORMAL)
+ * 서킷이 열려 있으면 선점해도 전송하지 못하고 lease 만 연장되므로, 페이지를 선점하기 전마다 확인해 이번 실행을 끝낸다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRecoveryScheduler {
+
+    private static final List<RecoveryBucket> BUCKETS = List.of(
+            new RecoveryBucket(NotificationStatus.READY, null),
+            new RecoveryBucket(NotificationStatus.FAIL, MessagingErrorCode.INTERNAL),
+            new RecoveryBucket(NotificationStatus.FAIL, MessagingErrorCode.UNAVAILABLE),
+            new RecoveryBucket(NotificationStatus.FAIL, MessagingErrorCode.QUOTA_EXCEEDED),
+            // 오류 코드 없이 실패한 로그 (네트워크 오류 등)
+            new RecoveryBucket(NotificationStatus.FAIL, null)
+    );
+
+    private final NotificationLogRecoveryRepository notificationLogRecoveryRepository;
+    private final NotificationLogService notificationLogService;
+    private final DeviceFcmTokenRepository deviceFcmTokenRepository;
+    private final NotificationService notificationService;
+    private final NotificationRecoveryProperties recoveryProperties;
+    private final NotificationLanes notificationLanes;
+    private final FcmCircuitBreaker circuitBreaker;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // 매일 09:00 ~ 22:00, 5분마다 실행
+    @Scheduled(cron = "${notification.recovery.cron:0 */5 9-21 * * *}", zone = "${notification.recovery.zone:Asia/Seoul}")
+    public void recover() {
+        if (!recoveryProperties.enabled()) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Notification 복구 건너뜀 - 이전 복구가 진행 중");
+            return;
+        }
+        try {
+            notificationLanes.executorFor(NotificationPriority.NORMAL).execute(() -> {
+                try {
+                    recoverAll();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.set(false);
+            log.warn("Notification 복구 건너뜀 - reason: {}", e.getMessage());
+        }
+    }
+
+    private void recoverAll() {
+        LocalDateTime now = LocalDateTime.now();
+        long beforeId = NotificationLogIdGenerator.minIdAt(
+                System.currentTimeMillis() - recoveryProperties.minAge().toMillis());
+        LocalDateTime leaseExpiredAt = now.minus(recoveryProperties.lease());
+
+        for (RecoveryBucket bucket : BUCKETS) {
+            int recovered = sweep(bucket, beforeId, now, leaseExpiredAt);
+            if (recovered > 0) {
+                log.info("Notification 복구 - status: {}, errorCode: {}, count: {}",
+                        bucket.status(), bucket.errorCode(), recovered);
+            }
+            if (circuitBreaker.isOpen()) {
+                log.warn("FCM Circuit Open - 복구 중단, 남은 로그는 다음 실행에서 처리");
+                return;
+            }
+        }
+    }
+
+    private int sweep(RecoveryBucket bucket, long beforeId, LocalDateTime now, LocalDateTime leaseExpiredAt) {
+        int recovered = 0;
+        long afterId = 0;
+        while (!circuitBreaker.isOpen()) {
+            List<RecoverableNotificationLog> notificationLogs = notificationLogRecoveryRepository.claim(
+                    bucket.status(), bucket.errorCode(), afterId, beforeId, recoveryProperties.maxCount(),
+                    now, leaseExpiredAt, recoveryProperties.batchSize());
+            if (notificationLogs.isEmpty()) {
+                return recovered;
+            }
+            afterId = notificationLogs.get(notificationLogs.size() - 1).id();
+
+            List<NotificationDelivery> deliveries = toDeliveries(notificationLogs);
+            notificationService.resend(deliveries);
+            recovered += deliveries.size();
+
+            if (notificationLogs.size() < recoveryProperties.batchSize()) {
+                return recovered;
+            }
+        }
+        return recovered;
+    }
+
+    /**
+     * 로그에는 payload 해시와 토큰 ID 만 있으므로, 페이지 단위로 payload 와 토큰을 한 번에 조회해 메시지를 다시 만든다.
+     * 그 사이 무효화된 토큰의 로그는 다시 복구 대상이 되지 않도록 UNREGISTERED 로 실패 처리한다.
+     * topic 전송 로그는 토큰 없이 바로 topic 으로 다시 전송한다.
+     */
+    private List<NotificationDelivery> toDeliveries(List<RecoverableNotificationLog> notificationLogs) {
+        Map<String, NotificationContent> contents = notificationLogService.findContents(
+                notificationLogs.stream().map(RecoverableNotificationLog::payloadHash).toList());
+        Map<Long, DeviceFcmTokenView> deviceFcmTokens = deviceFcmTokenRepository.findTokensByIds(
+                        notificationLogs.stream().map(RecoverableNotificationLog::userNotificationTokenId)
+                                .filter(Objects::nonNull).distinct().toList(),
+                        FcmTokenStatus.ACTIVE).stream()
+                .collect(Collectors.toMap(DeviceFcmTokenView::id, Function.identity()));
+
+        List<NotificationDelivery> deliveries = new ArrayList<>(notificationLogs.size());
+        for (RecoverableNotificationLog notificationLog : notificationLogs) {
+            NotificationContent content = contents.get(notificationLog.payloadHash());
+            if (content == null) {
+                log.error("Notification Payload 없음 - notificationLogId: {}", notificationLog.id());
+                continue;
+            }
+            if (notificationLog.topic() != null) {
+                notificationService.resendBroadcast(notificationLog.topic(), content, notificationLog.toNotificationLog());
+                continue;
+            }
+            DeviceFcmTokenView deviceFcmToken = deviceFcmTokens.get(notificationLog.userNotificationTokenId());
+            if (deviceFcmToken == null) {
+                notificationLogService.markFail(notificationLog.toNotificationLog(), MessagingErrorCode.UNREGISTERED);
+                continue;
+            }
+            deliveries.add(notificationService.createDelivery(
+                    deviceFcmToken, content, notificationLog.toNotificationLog()));
+        }
+        return deliveries;
+    }
+
+    private record RecoveryBucket(NotificationStatus status, MessagingErrorCode errorCode) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.fcmretryplayground.application.notification.retry;
+
+import java.util.List;
+
+/**
+ * 재시도 가능한 전송 실패를 dueAtMillis 까지 보관하는 지연 큐.
+ * 백오프 동안 스레드를 점유하지 않고, NotificationRetryScheduler 가 기한이 된 작업만 꺼내 재전송한다.
+ */
+public interface NotificationRetryQueue {
+
+    void offer(RetryTask task);
+
+    // nowMillis 기준으로 기한이 지난 작업을 최대 maxSize 건 꺼낸다. 꺼낸 작업은 큐에서 제거된다.
+    List<RetryTask> pollDue(long nowMillis, int maxSize);
+
+    long size();
+}
@@ -0,0 +1,85 @@
+package com.example.fcmretryplayground.application.notification.retry;
+
+import com.example.fcmretryplayground.application.notification.NotificationLanes;
+import com.example.fcmretryplayground.application.notification.NotificationService;
+import com.example.fcmretryplayground.config.NotificationRetryProperties;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스케줄러 스레드는 재시도 큐에서 만료된 작업을 꺼내기만 하고, 실제 재전송은 우선순위별 전송 실행기에서 수행한다.
+ * 진행 중인 묶음이 maxInFlightBatches 에 도달하면 더 꺼내지 않고 나머지는 큐에 남겨둔다.
+ */
+@Component
+@Slf4j
+public class NotificationRetryScheduler {
+
+    private final NotificationRetryQueue notificationRetryQueue;
+    private final NotificationService notificationService;
+    private final NotificationRetryProperties retryProperties;
+    private final NotificationLanes notificationLanes;
+    private final Semaphore inFlightBatches;
+
+    public NotificationRetryScheduler(NotificationRetryQueue notificationRetryQueue,
+                                      NotificationService notificationService,
+                                      NotificationRetryProperties retryProperties,
+                                      NotificationLanes notificationLanes) {
+        this.notificationRetryQueue = notificationRetryQueue;
+        this.notificationService = notificationService;
+        this.retryProperties = retryProperties;
+        this.notificationLanes = notificationLanes;
+        this.inFlightBatches = new Semaphore(retryProperties.maxInFlightBatches());
+    }
+
+    @Scheduled(fixedDelayString = "${notification.retry.poll-interval:100ms}")
+    public void dispatchDueTasks() {
+        while (inFlightBatches.tryAcquire()) {
+            List<RetryTask> tasks = notificationRetryQueue.pollDue(System.currentTimeMillis(), retryProperties.pollBatchSize());
+            if (tasks.isEmpty()) {
+                inFlightBatches.release();
+                return;
+            }
+            dispatch(tasks);
+            if (tasks.size() < retryProperties.pollBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    private void dispatch(List<RetryTask> tasks) {
+        Map<NotificationPriority, List<RetryTask>> byPriority = tasks.stream()
+                .collect(Collectors.groupingBy(task -> task.content().priority()));
+        // 한 번 꺼낸 묶음의 우선순위 그룹이 모두 끝나야 permit 을 반환한다.
+        AtomicInteger remaining = new AtomicInteger(byPriority.size());
+        byPriority.forEach((priority, group) -> {
+            try {
+                notificationLanes.executorFor(priority).execute(() -> {
+                    try {
+                        notificationService.retry(group);
+                    } catch (Exception e) {
+                        log.error("Notification 재전송 실패: {}", e.getMessage());
+                    } finally {
+                        complete(remaining);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                complete(remaining);
+                log.warn("Notification 재전송 작업 거부: priority={}, size={}", priority, group.size());
+            }
+        });
+    }
+
+    private void complete(AtomicInteger remaining) {
+        if (remaining.decrementAndGet() == 0) {
+            inFlightBatches.release();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.fcmretryplayground.application.notification.retry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Redis Sorted Set 기반 재시도 큐. (score = dueAtMillis)
+ * 여러 노드가 같은 큐를 공유하며, 기한이 된 작업의 조회와 삭제를 Lua 스크립트로 한 번에 수행해 중복 재전송을 막는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisRetryQueue implements NotificationRetryQueue {
+
+    private static final String KEY = "notification:retry-queue";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> POLL_DUE_SCRIPT = RedisScript.of("""
+            local tasks = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            if #tasks > 0 then
+                redis.call('ZREM', KEYS[1], unpack(tasks))
+            end
+            return tasks
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper mapper;
+
+    @Override
+    public void offer(RetryTask task) {
+        try {
+            redisTemplate.opsForZSet().add(KEY, mapper.writeValueAsString(task), task.dueAtMillis());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Retry Task 직렬화 실패: " + task.notificationLogId(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<RetryTask> pollDue(long nowMillis, int maxSize) {
+        List<String> tasks = redisTemplate.execute(POLL_DUE_SCRIPT, List.of(KEY),
+                String.valueOf(nowMillis), String.valueOf(maxSize));
+        if (tasks == null) {
+            return List.of();
+        }
+        return tasks.stream()
+                .map(this::deserialize)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public long size() {
+        Long size = redisTemplate.opsForZSet().zCard(KEY);
+        return size == null ? 0 : size;
+    }
+
+    private RetryTask deserialize(String task) {
+        try {
+            return mapper.readValue(task, RetryTask.class);
+        } catch (JsonProcessingException e) {
+            log.error("Retry Task 역직렬화 실패: {}", task);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.fcmretryplayground.application.notification.retry;
+
+public enum RetryQueueType {
+    IN_MEMORY, REDIS
+}
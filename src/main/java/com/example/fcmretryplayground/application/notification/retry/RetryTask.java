@@ -0,0 +1,34 @@
+package com.example.fcmretryplayground.application.notification.retry;
+
+import com.example.fcmretryplayground.application.notification.NotificationDelivery;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView;
+import com.example.fcmretryplayground.domain.notification.NotificationContent;
+import com.example.fcmretryplayground.domain.notification.NotificationLog;
+import com.example.fcmretryplayground.domain.notification.NotificationStatus;
+import com.google.firebase.messaging.MessagingErrorCode;
+
+/**
+ * 재시도 큐에 보관되는 재전송 작업.
+ * Redis 백엔드에서도 직렬화할 수 있도록 Message 대신 알림 내용과 로그 상태를 보관한다.
+ */
+public record RetryTask(
+        Long notificationLogId,
+        String notificationId,
+        Integer count,
+        MessagingErrorCode errorCode,
+        DeviceFcmTokenView deviceFcmToken,
+        NotificationContent content,
+        long dueAtMillis
+) {
+
+    public static RetryTask of(NotificationDelivery delivery, long dueAtMillis) {
+        NotificationLog notificationLog = delivery.notificationLog();
+        return new RetryTask(notificationLog.getId(), notificationLog.getNotificationId(), notificationLog.getCount(), notificationLog.getErrorCode(),
+                delivery.deviceFcmToken(), delivery.content(), dueAtMillis);
+    }
+
+    public NotificationLog toNotificationLog() {
+        return NotificationLog.restore(notificationLogId, notificationId, deviceFcmToken.id(), errorCode,
+                NotificationStatus.FAIL, count);
+    }
+}
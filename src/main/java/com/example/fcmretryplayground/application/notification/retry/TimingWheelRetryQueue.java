@@ -0,0 +1,89 @@
+package com.example.fcmretryplayground.application.notification.retry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 해시 타이밍 휠 기반 인메모리 재시도 큐.
+ * 작업은 기한 tick 을 wheelSize 로 나눈 나머지 버킷에 저장되며, pollDue 는 지난 tick 의 버킷만 확인하므로
+ * 큐에 쌓인 작업 수와 관계없이 tick 당 일정한 비용으로 기한이 된 작업을 꺼낸다.
+ * 단일 노드 전용이며 애플리케이션이 재시작되면 보관 중인 작업은 사라진다. (READY / FAIL 로그는 복구 스케줄러가 처리한다)
+ */
+public class TimingWheelRetryQueue implements NotificationRetryQueue {
+
+    private final long tickMillis;
+    private final List<Deque<Entry>> buckets;
+    private final long startMillis;
+
+    // 마지막으로 확인을 마친 tick
+    private long currentTick;
+    private long size;
+
+    public TimingWheelRetryQueue(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 1) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.startMillis = startMillis;
+        this.currentTick = toTick(startMillis);
+    }
+
+    @Override
+    public synchronized void offer(RetryTask task) {
+        // 이미 지난 기한은 다음 tick 에 꺼내지도록 한다.
+        long deadlineTick = Math.max(toTick(task.dueAtMillis()), currentTick + 1);
+        buckets.get(bucketIndex(deadlineTick)).addLast(new Entry(deadlineTick, task));
+        size++;
+    }
+
+    @Override
+    public synchronized List<RetryTask> pollDue(long nowMillis, int maxSize) {
+        List<RetryTask> dueTasks = new ArrayList<>();
+        long nowTick = toTick(nowMillis);
+        // 한 바퀴 이상 지났다면 모든 버킷을 한 번씩만 확인하면 된다.
+        long fromTick = Math.max(currentTick + 1, nowTick - buckets.size() + 1);
+
+        for (long tick = fromTick; tick <= nowTick; tick++) {
+            Iterator<Entry> iterator = buckets.get(bucketIndex(tick)).iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.deadlineTick() > nowTick) {
+                    continue;
+                }
+                if (dueTasks.size() == maxSize) {
+                    // 남은 작업은 다음 pollDue 에서 이 tick 부터 다시 확인한다.
+                    currentTick = tick - 1;
+                    return dueTasks;
+                }
+                iterator.remove();
+                size--;
+                dueTasks.add(entry.task());
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick);
+        return dueTasks;
+    }
+
+    @Override
+    public synchronized long size() {
+        return size;
+    }
+
+    private long toTick(long millis) {
+        return Math.floorDiv(millis - startMillis, tickMillis);
+    }
+
+    private int bucketIndex(long tick) {
+        return (int) Math.floorMod(tick, (long) buckets.size());
+    }
+
+    private record Entry(long deadlineTick, RetryTask task) {
+    }
+}
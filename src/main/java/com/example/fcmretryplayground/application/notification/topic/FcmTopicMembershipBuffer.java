@@ -0,0 +1,143 @@
+package com.example.fcmretryplayground.application.notification.topic;
+
+import com.example.fcmretryplayground.application.notification.FcmClient;
+import com.example.fcmretryplayground.common.FcmCircuitOpenException;
+import com.example.fcmretryplayground.config.NotificationTopicProperties;
+import com.example.fcmretryplayground.config.SchedulingConfig;
+import com.example.fcmretryplayground.domain.notification.event.DeviceFcmTokenChangedEvent;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.TopicManagementResponse;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 전송 대상 토큰이 topic 전송 NotificationType 의 topic 을 모두 구독하도록 유지한다.
+ * 토큰 변경을 커밋 후 모아 두었다가 batchSize(최대 1,000) 개씩 subscribeToTopic / unsubscribeFromTopic 으로 반영한다.
+ * 요청 전체가 실패한 토큰은 다음 flush 에서 다시 시도하고, 토큰 단위 실패(무효 토큰 등)는 기록만 한다.
+ * 스케줄러와 토큰 변경 이벤트는 flush 를 요청만 하고, FCM 호출은 topicMembershipExecutor 에서 수행한다.
+ */
+@Component
+@Slf4j
+public class FcmTopicMembershipBuffer {
+
+    private final FcmClient fcmClient;
+    private final NotificationTopicProperties properties;
+    private final AsyncTaskExecutor topicMembershipExecutor;
+    private final Set<String> topics = NotificationType.broadcastTopics();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    private final Object pendingLock = new Object();
+    // 같은 토큰의 구독 변경은 마지막 변경만 반영한다. (true : 구독, false : 구독 해제)
+    private Map<String, Boolean> pendingChanges = new LinkedHashMap<>();
+
+    public FcmTopicMembershipBuffer(FcmClient fcmClient, NotificationTopicProperties properties,
+                                    @Qualifier(SchedulingConfig.TOPIC_MEMBERSHIP_EXECUTOR)
+                                    AsyncTaskExecutor topicMembershipExecutor) {
+        this.fcmClient = fcmClient;
+        this.properties = properties;
+        this.topicMembershipExecutor = topicMembershipExecutor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(DeviceFcmTokenChangedEvent event) {
+        if (!properties.enabled() || topics.isEmpty()) {
+            return;
+        }
+        int pendingSize;
+        synchronized (pendingLock) {
+            event.unsubscribedFcmTokens().forEach(fcmToken -> pendingChanges.put(fcmToken, false));
+            event.subscribedFcmTokens().forEach(fcmToken -> pendingChanges.put(fcmToken, true));
+            pendingSize = pendingChanges.size();
+        }
+        if (pendingSize >= properties.batchSize()) {
+            requestFlush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.topic.flush-interval:1s}")
+    public void scheduledFlush() {
+        requestFlush();
+    }
+
+    // 이미 flush 중이면 건너뛰고, 남은 변경은 다음 주기에 반영한다.
+    private void requestFlush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            topicMembershipExecutor.execute(() -> {
+                try {
+                    flush();
+                } catch (Exception e) {
+                    log.error("FCM topic 구독 변경 flush 실패: {}", e.getMessage());
+                } finally {
+                    flushing.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            flushing.set(false);
+            log.warn("FCM topic 구독 변경 flush 거부: {}", e.getMessage());
+        }
+    }
+
+    // 종료 시에는 남은 변경을 호출한 스레드에서 바로 반영한다.
+    @PreDestroy
+    public synchronized void flush() {
+        Map<String, Boolean> changes;
+        synchronized (pendingLock) {
+            if (pendingChanges.isEmpty()) {
+                return;
+            }
+            changes = pendingChanges;
+            pendingChanges = new LinkedHashMap<>();
+        }
+
+        List<String> subscribed = new ArrayList<>();
+        List<String> unsubscribed = new ArrayList<>();
+        changes.forEach((fcmToken, subscribe) -> (subscribe ? subscribed : unsubscribed).add(fcmToken));
+
+        Map<String, Boolean> failedChanges = new LinkedHashMap<>();
+        apply(subscribed, true, failedChanges);
+        apply(unsubscribed, false, failedChanges);
+        if (!failedChanges.isEmpty()) {
+            synchronized (pendingLock) {
+                // 그 사이 들어온 최신 변경을 덮어쓰지 않는다.
+                failedChanges.forEach(pendingChanges::putIfAbsent);
+            }
+        }
+    }
+
+    private void apply(List<String> fcmTokens, boolean subscribe, Map<String, Boolean> failedChanges) {
+        for (int from = 0; from < fcmTokens.size(); from += properties.batchSize()) {
+            List<String> chunk = fcmTokens.subList(from, Math.min(from + properties.batchSize(), fcmTokens.size()));
+            for (String topic : topics) {
+                try {
+                    TopicManagementResponse response = subscribe
+                            ? fcmClient.subscribeToTopic(chunk, topic)
+                            : fcmClient.unsubscribeFromTopic(chunk, topic);
+                    if (response.getFailureCount() > 0) {
+                        log.warn("FCM topic 구독 변경 일부 실패 - topic: {}, subscribe: {}, failure: {}",
+                                topic, subscribe, response.getFailureCount());
+                    }
+                } catch (FirebaseMessagingException | FcmCircuitOpenException e) {
+                    log.error("FCM topic 구독 변경 실패 - topic: {}, subscribe: {}, reason: {}",
+                            topic, subscribe, e.getMessage());
+                    chunk.forEach(fcmToken -> failedChanges.put(fcmToken, subscribe));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.fcmretryplayground.application.notification.topic;
+
+import com.example.fcmretryplayground.application.notification.FcmClient;
+import com.example.fcmretryplayground.common.FcmCircuitOpenException;
+import com.example.fcmretryplayground.config.NotificationTopicProperties;
+import com.example.fcmretryplayground.config.SchedulingConfig;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenHealthBatch;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenHealthRepository;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.TopicManagementResponse;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 전송 대상 토큰(ACTIVE, 수신 동의)을 ID 키셋 순서로 순회하며 모든 topic 을 다시 구독시킨다.
+ * FcmTopicMembershipBuffer 는 토큰 변경 이벤트만 반영하므로, topic 구독 관리 도입 이전의 토큰과
+ * 반영 전에 노드가 종료되어 잃어버린 변경은 이 작업이 채운다. subscribeToTopic 은 이미 구독한 토큰에 다시 호출해도 된다.
+ * - 진행 위치를 JOB_CHECKPOINT 에 기록하므로 backfillMaxDuration 이 지나 중단되어도 다음 실행에서 이어서 처리한다.
+ * - FCM 호출이 실패하거나 서킷이 열리면 진행 위치를 되돌리고 이번 실행을 끝낸다.
+ * - 스케줄러 스레드를 점유하지 않도록 maintenanceExecutor 에서 실행한다.
+ */
+@Component
+@Slf4j
+public class FcmTopicSubscriptionBackfill {
+
+    private static final String JOB_NAME = "fcm-topic-subscription";
+
+    private final DeviceFcmTokenHealthRepository deviceFcmTokenHealthRepository;
+    private final FcmClient fcmClient;
+    private final NotificationTopicProperties properties;
+    private final AsyncTaskExecutor maintenanceExecutor;
+    private final Set<String> topics = NotificationType.broadcastTopics();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public FcmTopicSubscriptionBackfill(DeviceFcmTokenHealthRepository deviceFcmTokenHealthRepository,
+                                        FcmClient fcmClient,
+                                        NotificationTopicProperties properties,
+                                        @Qualifier(SchedulingConfig.MAINTENANCE_EXECUTOR)
+                                        AsyncTaskExecutor maintenanceExecutor) {
+        this.deviceFcmTokenHealthRepository = deviceFcmTokenHealthRepository;
+        this.fcmClient = fcmClient;
+        this.properties = properties;
+        this.maintenanceExecutor = maintenanceExecutor;
+    }
+
+    // 매일 03:00 실행
+    @Scheduled(cron = "${notification.topic.backfill-cron:0 0 3 * * *}",
+            zone = "${notification.topic.backfill-zone:Asia/Seoul}")
+    public void backfill() {
+        if (!properties.enabled() || !properties.backfillEnabled() || topics.isEmpty()) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.warn("FCM topic 구독 보정 건너뜀 - 이전 보정이 진행 중");
+            return;
+        }
+        try {
+            maintenanceExecutor.execute(() -> {
+                try {
+                    run();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.set(false);
+            log.warn("FCM topic 구독 보정 건너뜀 - reason: {}", e.getMessage());
+        }
+    }
+
+    private void run() {
+        long deadlineNanos = System.nanoTime() + properties.backfillMaxDuration().toNanos();
+        int subscribed = 0;
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            DeviceFcmTokenHealthBatch batch = deviceFcmTokenHealthRepository.claim(JOB_NAME, properties.batchSize());
+            if (batch.deviceFcmTokens().isEmpty()) {
+                log.info("FCM topic 구독 보정 - 전체 순회 완료");
+                break;
+            }
+            List<String> fcmTokens = batch.deviceFcmTokens().stream()
+                    .filter(deviceFcmToken -> Boolean.TRUE.equals(deviceFcmToken.notificationOptIn()))
+                    .map(DeviceFcmTokenView::fcmToken)
+                    .toList();
+            try {
+                subscribe(fcmTokens);
+            } catch (FirebaseMessagingException | FcmCircuitOpenException e) {
+                deviceFcmTokenHealthRepository.rewind(JOB_NAME, batch);
+                log.warn("FCM topic 구독 보정 중단 - lastId: {}, reason: {}", batch.previousId(), e.getMessage());
+                break;
+            }
+            subscribed += fcmTokens.size();
+        }
+        if (subscribed > 0) {
+            log.info("FCM topic 구독 보정 - subscribed: {}", subscribed);
+        }
+    }
+
+    // 토큰 단위 실패(무효 토큰 등)는 기록만 하고, 무효 토큰은 토큰 점검이 INVALID 로 바꾼다.
+    private void subscribe(List<String> fcmTokens) throws FirebaseMessagingException {
+        if (fcmTokens.isEmpty()) {
+            return;
+        }
+        for (String topic : topics) {
+            TopicManagementResponse response = fcmClient.subscribeToTopic(fcmTokens, topic);
+            if (response.getFailureCount() > 0) {
+                log.warn("FCM topic 구독 보정 일부 실패 - topic: {}, failure: {}", topic, response.getFailureCount());
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.fcmretryplayground.common;
+
+// FCM 서킷이 열려 있어 전송을 시도하지 않은 경우
+public class FcmCircuitOpenException extends RuntimeException {
+
+    public FcmCircuitOpenException() {
+        super("FCM circuit is open");
+    }
+}
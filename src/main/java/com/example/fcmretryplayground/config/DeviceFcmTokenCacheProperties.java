@@ -0,0 +1,16 @@
+package com.example.fcmretryplayground.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.token-cache")
+public record DeviceFcmTokenCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        // Redis 에 저장한 사용자별 발송 대상 토큰 목록의 만료 시간
+        @DefaultValue("10m") Duration ttl,
+        // 로컬 near cache 만료 시간, 다른 노드에서 발생한 무효화는 이 시간 안에 반영된다.
+        @DefaultValue("5s") Duration nearCacheTtl,
+        @DefaultValue("10000") int nearCacheMaxSize
+) {
+}
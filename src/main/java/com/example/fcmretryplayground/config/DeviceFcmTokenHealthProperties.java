@@ -0,0 +1,27 @@
+package com.example.fcmretryplayground.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.token-health")
+public record DeviceFcmTokenHealthProperties(
+        @DefaultValue("true") boolean enabled,
+        // dry-run sendEach 1회에 점검하는 토큰 수
+        @DefaultValue("500") int batchSize,
+        // 점검에 사용하는 초당 최대 메시지 수 (실제 전송과 FCM 할당량을 나눠 쓰므로 낮게 유지한다)
+        @DefaultValue("100") double ratePerSecond,
+        // 1회 실행의 최대 시간, 남은 토큰은 다음 실행에서 이어서 점검한다.
+        @DefaultValue("3h") Duration maxDuration
+) {
+
+    public DeviceFcmTokenHealthProperties {
+        if (batchSize < 1 || batchSize > NotificationSendProperties.FCM_MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "batchSize must be between 1 and " + NotificationSendProperties.FCM_MAX_BATCH_SIZE);
+        }
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be positive");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.domain.notification.FcmTokenStatus;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.token-hygiene")
+public record DeviceFcmTokenHygieneProperties(
+        // 무효화 UPDATE 1회에 담을 최대 토큰 수이자, 대기 중인 토큰이 이 수에 도달하면 즉시 flush 한다.
+        @DefaultValue("500") int flushSize,
+        // 대기 중인 무효화 토큰을 주기적으로 flush 하는 간격
+        @DefaultValue("1s") Duration flushInterval,
+        @DefaultValue("true") boolean purgeEnabled,
+        // 삭제 트랜잭션 1회에 삭제하는 최대 토큰 수
+        @DefaultValue("1000") int purgeChunkSize,
+        // 삭제 트랜잭션 사이 대기 시간 (잠금, 복제 지연이 길어지지 않도록 한다)
+        @DefaultValue("100ms") Duration purgePause,
+        @DefaultValue({"INVALID", "BLOCKED"}) List<FcmTokenStatus> purgeStatuses
+) {
+
+    public DeviceFcmTokenHygieneProperties {
+        if (purgeStatuses.stream().anyMatch(FcmTokenStatus::isDeliverable)) {
+            throw new IllegalArgumentException("purgeStatuses must not contain deliverable status");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.fcmretryplayground.config;
+
+public enum ExecutorMode {
+    // 고정 크기 플랫폼 스레드 풀 + 제한된 큐, 큐가 가득 차면 호출 스레드에서 실행 (backpressure)
+    PLATFORM,
+    // 작업마다 가상 스레드 생성 (Java 21 이상), FCM 동시 호출 수는 세마포어로 제한
+    VIRTUAL
+}
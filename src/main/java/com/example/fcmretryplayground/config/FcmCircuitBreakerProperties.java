@@ -0,0 +1,22 @@
+package com.example.fcmretryplayground.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.circuit-breaker")
+public record FcmCircuitBreakerProperties(
+        @DefaultValue("true") boolean enabled,
+        // 오류율을 계산하는 rolling window 크기와 window 를 나누는 bucket 수
+        @DefaultValue("10s") Duration window,
+        @DefaultValue("10") int bucketCount,
+        // window 안의 일시 장애(INTERNAL, UNAVAILABLE, 네트워크 오류) 비율이 이 값 이상이면 OPEN
+        @DefaultValue("0.5") double failureRateThreshold,
+        // window 안의 호출 수가 이 값 미만이면 오류율을 판단하지 않는다.
+        @DefaultValue("20") int minimumCalls,
+        // OPEN 상태를 유지하는 시간, 이후 HALF_OPEN 으로 전환해 시험 호출을 허용한다.
+        @DefaultValue("30s") Duration openDuration,
+        // HALF_OPEN 상태에서 허용하는 시험 호출 수, 모두 성공하면 CLOSED 로 전환한다.
+        @DefaultValue("3") int halfOpenProbes
+) {
+}
@@ -1,28 +1,73 @@
 package com.example.fcmretryplayground.config;
 
+import com.example.fcmretryplayground.application.notification.FcmClient;
+import com.example.fcmretryplayground.application.notification.SendMode;
+import com.example.fcmretryplayground.application.notification.circuitbreaker.FcmCircuitBreaker;
+import com.example.fcmretryplayground.application.notification.emulator.FcmEmulator;
+import com.example.fcmretryplayground.application.notification.metrics.NotificationMetrics;
+import com.example.fcmretryplayground.application.notification.ratelimit.FcmRateLimiter;
+import com.google.api.client.http.HttpTransport;
+import com.google.auth.oauth2.AccessToken;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 
 @Configuration
+@RequiredArgsConstructor
 public class FcmConfig {
+
+    // fcm-emulator 프로필에서만 등록된다.
+    private final ObjectProvider<FcmEmulator> fcmEmulator;
+    // notification.fcm-transport.enabled 가 false 이면 등록되지 않고 SDK 기본 전송 계층을 사용한다.
+    private final ObjectProvider<HttpTransport> fcmHttpTransport;
+
     @PostConstruct
     public void initialize() throws IOException {
-        InputStream serviceAccount = new ClassPathResource("ExampleServiceAccountKey.json").getInputStream();
-
-        FirebaseOptions options = FirebaseOptions.builder()
-                .setCredentials(GoogleCredentials.fromStream(serviceAccount))
+        FirebaseOptions.Builder options = FirebaseOptions.builder()
                 .setConnectTimeout(3000) // 3초
-                .setReadTimeout(6000) // 6초
-                .build();
+                .setReadTimeout(6000); // 6초
+
+        FcmEmulator emulator = fcmEmulator.getIfAvailable();
+        if (emulator == null) {
+            InputStream serviceAccount = new ClassPathResource("ExampleServiceAccountKey.json").getInputStream();
+            options.setCredentials(GoogleCredentials.fromStream(serviceAccount));
+            fcmHttpTransport.ifAvailable(options::setHttpTransport);
+        } else {
+            // 에뮬레이터는 인증하지 않으므로 만료되지 않는 임의의 access token 을 사용한다.
+            options.setCredentials(GoogleCredentials.create(new AccessToken("fcm-emulator", null)))
+                    .setProjectId(emulator.getProjectId())
+                    .setHttpTransport(emulator.httpTransport());
+        }
 
         if (FirebaseApp.getApps().isEmpty()) {
-            FirebaseApp.initializeApp(options);
+            FirebaseApp.initializeApp(options.build());
+        }
+    }
+
+    @Bean
+    public FcmCircuitBreaker fcmCircuitBreaker(FcmCircuitBreakerProperties circuitBreakerProperties) {
+        return new FcmCircuitBreaker(circuitBreakerProperties);
+    }
+
+    // PIPELINED 모드는 호출 스레드가 응답을 기다리지 않으므로 max-in-flight-fcm-calls 가 유일한 동시 요청 제한이다.
+    @Bean
+    public FcmClient fcmClient(NotificationExecutorProperties executorProperties,
+                               NotificationSendProperties sendProperties,
+                               NotificationPriorityProperties priorityProperties, FcmRateLimiter fcmRateLimiter,
+                               FcmCircuitBreaker fcmCircuitBreaker, NotificationMetrics notificationMetrics) {
+        if (sendProperties.mode() == SendMode.PIPELINED && executorProperties.maxInFlightFcmCalls() <= 0) {
+            throw new IllegalStateException(
+                    "notification.send.mode=PIPELINED requires notification.executor.max-in-flight-fcm-calls > 0");
         }
+        return new FcmClient(executorProperties.maxInFlightFcmCalls(), priorityProperties.reservedShare(),
+                fcmRateLimiter, fcmCircuitBreaker, notificationMetrics);
     }
 }
@@ -0,0 +1,22 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.application.notification.emulator.FcmEmulator;
+import java.io.IOException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * fcm-emulator 프로필에서는 실제 FCM 대신 로컬 에뮬레이터로 전송한다. (부하 테스트, soak 테스트용)
+ */
+@Configuration
+@Profile("fcm-emulator")
+public class FcmEmulatorConfig {
+
+    @Bean(destroyMethod = "stop")
+    public FcmEmulator fcmEmulator(FcmEmulatorProperties properties) throws IOException {
+        FcmEmulator fcmEmulator = new FcmEmulator(properties);
+        fcmEmulator.start();
+        return fcmEmulator;
+    }
+}
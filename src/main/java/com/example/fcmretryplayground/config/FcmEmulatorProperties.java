@@ -0,0 +1,38 @@
+package com.example.fcmretryplayground.config;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * fcm-emulator 프로필에서 FCM 대신 사용하는 로컬 에뮬레이터 설정.
+ */
+@ConfigurationProperties(prefix = "notification.fcm-emulator")
+public record FcmEmulatorProperties(
+        // 0 이면 비어 있는 포트를 사용한다.
+        @DefaultValue("0") int port,
+        @DefaultValue("fcm-emulator") String projectId,
+        // 요청을 처리하는 스레드 수, 지연 시간 동안 스레드를 점유하므로 동시 요청 수 이상이어야 한다.
+        @DefaultValue("200") int threads,
+        // 응답 지연은 중앙값과 p99 를 따르는 로그 정규 분포로 생성한다.
+        @DefaultValue("20ms") Duration medianLatency,
+        @DefaultValue("200ms") Duration p99Latency,
+        // QUOTA_EXCEEDED 응답의 Retry-After
+        @DefaultValue("1s") Duration retryAfter,
+        // 요청 1건이 해당 MessagingErrorCode 로 실패할 확률 (합계는 1 이하)
+        Map<MessagingErrorCode, Double> errorRates
+) {
+
+    public FcmEmulatorProperties {
+        errorRates = errorRates == null ? Map.of() : Map.copyOf(errorRates);
+        double totalRate = errorRates.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (totalRate > 1.0) {
+            throw new IllegalArgumentException("sum of errorRates must be less than or equal to 1.0");
+        }
+        if (p99Latency.compareTo(medianLatency) < 0) {
+            throw new IllegalArgumentException("p99Latency must be greater than or equal to medianLatency");
+        }
+    }
+}
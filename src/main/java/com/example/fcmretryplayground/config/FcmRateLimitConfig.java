@@ -0,0 +1,29 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.application.notification.ratelimit.FcmRateLimiter;
+import com.example.fcmretryplayground.application.notification.ratelimit.LocalTokenBucketRateLimiter;
+import com.example.fcmretryplayground.application.notification.ratelimit.RedisTokenBucketRateLimiter;
+import com.example.fcmretryplayground.application.notification.ratelimit.UnlimitedFcmRateLimiter;
+import com.example.fcmretryplayground.config.FcmRateLimitProperties.RateLimitBackend;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class FcmRateLimitConfig {
+
+    @Bean
+    public FcmRateLimiter fcmRateLimiter(FcmRateLimitProperties properties,
+                                         NotificationPriorityProperties priorityProperties,
+                                         ObjectProvider<StringRedisTemplate> redisTemplate) {
+        if (!properties.enabled()) {
+            return new UnlimitedFcmRateLimiter();
+        }
+        if (properties.backend() == RateLimitBackend.REDIS) {
+            return new RedisTokenBucketRateLimiter(redisTemplate.getObject(), properties,
+                    priorityProperties.reservedShare());
+        }
+        return new LocalTokenBucketRateLimiter(properties, priorityProperties.reservedShare());
+    }
+}
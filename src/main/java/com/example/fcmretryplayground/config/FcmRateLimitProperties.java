@@ -0,0 +1,29 @@
+package com.example.fcmretryplayground.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.rate-limit")
+public record FcmRateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("LOCAL") RateLimitBackend backend,
+        // 초당 전송 수 (시작값, 하한, 상한)
+        @DefaultValue("500") double initialRate,
+        @DefaultValue("10") double minRate,
+        @DefaultValue("5000") double maxRate,
+        // 버킷 용량 = 현재 rate * burstSeconds
+        @DefaultValue("1.0") double burstSeconds,
+        // 성공 시 adjustInterval 마다 증가시키는 초당 전송 수
+        @DefaultValue("20") double additiveIncrease,
+        // QUOTA_EXCEEDED / UNAVAILABLE 시 곱하는 비율
+        @DefaultValue("0.5") double multiplicativeDecrease,
+        // 한 번의 장애로 rate 가 연속해서 줄어들지 않도록 감소 사이에 두는 최소 간격
+        // 증가도 마지막 증가, 마지막 감소 후 이 간격이 지나야 적용한다.
+        @DefaultValue("1s") Duration adjustInterval
+) {
+
+    public enum RateLimitBackend {
+        LOCAL, REDIS
+    }
+}
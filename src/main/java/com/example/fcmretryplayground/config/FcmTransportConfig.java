@@ -0,0 +1,99 @@
+package com.example.fcmretryplayground.config;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.firebase.internal.ApacheHttp2Transport;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * FirebaseMessaging 이 사용하는 HTTP 연결 풀.
+ * Firebase Admin SDK 기본 전송 계층(ApacheHttp2Transport)에 연결 수, 유휴 연결 정리, HTTP/2 사용 여부를 설정한 클라이언트를 넣어 사용한다.
+ * fcm-emulator 프로필에서는 에뮬레이터 전송 계층을 사용하므로 등록하지 않는다.
+ */
+@Configuration
+@Profile("!fcm-emulator")
+@ConditionalOnProperty(prefix = "notification.fcm-transport", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class FcmTransportConfig {
+
+    @Bean
+    public PoolingAsyncClientConnectionManager fcmConnectionManager(FcmTransportProperties properties) {
+        return PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.maxConnTotal())
+                .setMaxConnPerRoute(properties.maxConnPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setTimeToLive(TimeValue.ofMilliseconds(properties.timeToLive().toMillis()))
+                        .build())
+                // HTTP/2 는 TLS ALPN 으로 협상하고, 지원하지 않으면 HTTP/1.1 을 사용한다.
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(properties.http2() ? HttpVersionPolicy.NEGOTIATE
+                                : HttpVersionPolicy.FORCE_HTTP_1)
+                        .build())
+                .build();
+    }
+
+    // 재시도, 리다이렉트는 Firebase Admin SDK 가 처리하므로 클라이언트에서는 끈다.
+    @Bean
+    public CloseableHttpAsyncClient fcmHttpAsyncClient(PoolingAsyncClientConnectionManager fcmConnectionManager,
+                                                       FcmTransportProperties properties) {
+        return HttpAsyncClientBuilder.create()
+                .setConnectionManager(fcmConnectionManager)
+                .setH2Config(H2Config.custom().setMaxConcurrentStreams(properties.maxConcurrentStreams()).build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.idleEviction().toMillis()))
+                .evictExpiredConnections()
+                .disableAutomaticRetries()
+                .disableRedirectHandling()
+                .useSystemProperties()
+                .build();
+    }
+
+    // ApacheHttp2Transport 가 클라이언트를 시작하고, shutdown 시 닫는다.
+    // 공개 API 가 아닌 SDK 내부 클래스이므로 build.gradle 에서 firebase-admin 버전을 고정한다.
+    @Bean
+    public HttpTransport fcmHttpTransport(CloseableHttpAsyncClient fcmHttpAsyncClient) {
+        return new ApacheHttp2Transport(fcmHttpAsyncClient);
+    }
+
+    /**
+     * 연결 풀 gauge.
+     * - notification.fcm.http.connections : 상태(leased, available, pending)별 연결 수 (pending 은 연결을 기다리는 요청 수)
+     * - notification.fcm.http.connections.max : 최대 연결 수
+     */
+    @Bean
+    public MeterBinder fcmConnectionPoolMetrics(PoolingAsyncClientConnectionManager fcmConnectionManager) {
+        return registry -> {
+            Gauge.builder("notification.fcm.http.connections", fcmConnectionManager,
+                            manager -> manager.getTotalStats().getLeased())
+                    .tag("state", "leased")
+                    .description("FCM HTTP 연결 풀 연결 수")
+                    .register(registry);
+            Gauge.builder("notification.fcm.http.connections", fcmConnectionManager,
+                            manager -> manager.getTotalStats().getAvailable())
+                    .tag("state", "available")
+                    .description("FCM HTTP 연결 풀 연결 수")
+                    .register(registry);
+            Gauge.builder("notification.fcm.http.connections", fcmConnectionManager,
+                            manager -> manager.getTotalStats().getPending())
+                    .tag("state", "pending")
+                    .description("FCM HTTP 연결 풀 연결 수")
+                    .register(registry);
+            Gauge.builder("notification.fcm.http.connections.max", fcmConnectionManager,
+                            manager -> manager.getTotalStats().getMax())
+                    .description("FCM HTTP 연결 풀 최대 연결 수")
+                    .register(registry);
+        };
+    }
+}
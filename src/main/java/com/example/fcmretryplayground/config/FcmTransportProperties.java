@@ -0,0 +1,38 @@
+package com.example.fcmretryplayground.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * FirebaseMessaging 이 사용하는 HTTP 연결 풀 설정.
+ * HTTP/2 를 사용하면 연결 하나에서 max-concurrent-streams 개의 요청을 동시에 처리하므로,
+ * 동시에 진행 가능한 요청 수는 max-conn-per-route * max-concurrent-streams 이다.
+ */
+@ConfigurationProperties(prefix = "notification.fcm-transport")
+public record FcmTransportProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200") int maxConnTotal,
+        // FCM 은 단일 호스트(fcm.googleapis.com)이므로 사실상 전체 연결 수 제한이다.
+        @DefaultValue("20") int maxConnPerRoute,
+        // false 이면 HTTP/1.1 만 사용한다.
+        @DefaultValue("true") boolean http2,
+        @DefaultValue("100") int maxConcurrentStreams,
+        // 이 시간 동안 사용하지 않은 연결은 백그라운드에서 닫는다.
+        @DefaultValue("30s") Duration idleEviction,
+        // 연결을 재사용하는 최대 시간, 지나면 새 연결로 교체한다. (DNS 변경 반영)
+        @DefaultValue("5m") Duration timeToLive
+) {
+
+    public FcmTransportProperties {
+        if (maxConnPerRoute < 1 || maxConnTotal < maxConnPerRoute) {
+            throw new IllegalArgumentException("maxConnPerRoute must be between 1 and maxConnTotal");
+        }
+        if (maxConcurrentStreams < 1) {
+            throw new IllegalArgumentException("maxConcurrentStreams must be greater than 0");
+        }
+        if (idleEviction.isNegative() || idleEviction.isZero() || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("idleEviction and timeToLive must be positive");
+        }
+    }
+}
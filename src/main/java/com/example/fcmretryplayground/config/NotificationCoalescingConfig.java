@@ -0,0 +1,23 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.application.notification.coalescing.InMemoryNotificationCoalescingBuffer;
+import com.example.fcmretryplayground.application.notification.coalescing.NotificationCoalescingBuffer;
+import com.example.fcmretryplayground.application.notification.coalescing.RedisNotificationCoalescingBuffer;
+import com.example.fcmretryplayground.config.NotificationCoalescingProperties.CoalescingBackend;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class NotificationCoalescingConfig {
+
+    @Bean
+    public NotificationCoalescingBuffer notificationCoalescingBuffer(NotificationCoalescingProperties properties,
+                                                                     ObjectProvider<StringRedisTemplate> redisTemplate) {
+        if (properties.enabled() && properties.backend() == CoalescingBackend.REDIS) {
+            return new RedisNotificationCoalescingBuffer(redisTemplate.getObject());
+        }
+        return new InMemoryNotificationCoalescingBuffer();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.coalescing")
+public record NotificationCoalescingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("IN_MEMORY") CoalescingBackend backend,
+        // 요약 알림을 모으는 시간, 모든 노드에서 같은 경계(epoch 기준 window 배수)로 나눈다.
+        @DefaultValue("5s") Duration window,
+        // 기한이 된 묶음을 확인하는 주기
+        @DefaultValue("1s") Duration flushInterval,
+        // 한 번에 꺼내는 최대 묶음 수
+        @DefaultValue("1000") int pollBatchSize,
+        // 모아서 보낼 NotificationType, topic 전송과 HIGH 우선순위 알림은 지정할 수 없다.
+        Set<NotificationType> types
+) {
+
+    public NotificationCoalescingProperties {
+        if (window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        types = types == null ? Set.of() : Set.copyOf(types);
+        for (NotificationType type : types) {
+            if (type.isBroadcast() || type.getPriority() == NotificationPriority.HIGH) {
+                throw new IllegalArgumentException("coalescing is not supported for " + type);
+            }
+        }
+    }
+
+    public boolean coalesces(NotificationType type) {
+        return enabled && types.contains(type);
+    }
+
+    // nowMillis 가 속한 window 가 끝나는 시각, 같은 window 의 알림은 노드와 관계없이 같은 요약 알림으로 묶인다.
+    public long windowEnd(long nowMillis) {
+        long windowMillis = window.toMillis();
+        return (nowMillis / windowMillis + 1) * windowMillis;
+    }
+
+    public enum CoalescingBackend {
+        IN_MEMORY, REDIS
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.fcmretryplayground.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+public class NotificationExecutorConfig {
+
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+    // HIGH 우선순위 알림 전용 실행기, 대량 발송이 notificationExecutor 를 채워도 영향을 받지 않는다.
+    public static final String PRIORITY_NOTIFICATION_EXECUTOR = "priorityNotificationExecutor";
+
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public AsyncTaskExecutor notificationExecutor(NotificationExecutorProperties properties) {
+        return createExecutor(properties, "notification-", properties.corePoolSize(), properties.maxPoolSize(),
+                properties.queueCapacity());
+    }
+
+    @Bean(name = PRIORITY_NOTIFICATION_EXECUTOR)
+    public AsyncTaskExecutor priorityNotificationExecutor(NotificationExecutorProperties properties,
+                                                          NotificationPriorityProperties priorityProperties) {
+        return createExecutor(properties, "notification-high-", priorityProperties.corePoolSize(),
+                priorityProperties.maxPoolSize(), priorityProperties.queueCapacity());
+    }
+
+    private AsyncTaskExecutor createExecutor(NotificationExecutorProperties properties, String threadNamePrefix,
+                                             int corePoolSize, int maxPoolSize, int queueCapacity) {
+        if (properties.mode() == ExecutorMode.VIRTUAL) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix + "vt-");
+            // Java 21 미만에서는 UnsupportedOperationException 으로 기동에 실패한다.
+            executor.setVirtualThreads(true);
+            executor.setTaskTerminationTimeout(properties.awaitTermination().toMillis());
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds((int) properties.keepAlive().toSeconds());
+        // 큐가 가득 차면 이벤트를 발행한 스레드에서 직접 실행해 발행 속도를 늦춘다.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(properties.awaitTermination().toMillis());
+        return executor;
+    }
+}
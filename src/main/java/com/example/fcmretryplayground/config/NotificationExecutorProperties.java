@@ -0,0 +1,25 @@
+package com.example.fcmretryplayground.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.executor")
+public record NotificationExecutorProperties(
+        @DefaultValue("PLATFORM") ExecutorMode mode,
+        // PLATFORM 모드 설정
+        @DefaultValue("8") int corePoolSize,
+        @DefaultValue("32") int maxPoolSize,
+        @DefaultValue("1000") int queueCapacity,
+        @DefaultValue("60s") Duration keepAlive,
+        // 동시에 진행 중인 FCM 요청 수 상한 (0 이면 제한하지 않음), VIRTUAL 모드에서는 반드시 설정해야 한다.
+        @DefaultValue("200") int maxInFlightFcmCalls,
+        // 종료 시 실행 중인 알림 작업을 기다리는 최대 시간
+        @DefaultValue("30s") Duration awaitTermination
+) {
+    public NotificationExecutorProperties {
+        if (mode == ExecutorMode.VIRTUAL && maxInFlightFcmCalls <= 0) {
+            throw new IllegalArgumentException("VIRTUAL executor mode requires maxInFlightFcmCalls > 0");
+        }
+    }
+}
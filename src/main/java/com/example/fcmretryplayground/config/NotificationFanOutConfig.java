@@ -0,0 +1,38 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.application.notification.fanout.NotificationFanOutConsumer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+
+@Configuration
+public class NotificationFanOutConfig {
+
+    // SmartLifecycle 로 애플리케이션 시작 시 XREADGROUP 을 시작하고 종료 시 멈춘다.
+    @Bean
+    @ConditionalOnProperty(prefix = "notification.fan-out", name = "enabled", havingValue = "true")
+    public StreamMessageListenerContainer<String, MapRecord<String, String, String>> notificationFanOutContainer(
+            RedisConnectionFactory connectionFactory, NotificationFanOutConsumer consumer,
+            NotificationFanOutProperties properties) {
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(properties.pollTimeout())
+                        .batchSize(properties.readCount())
+                        .build();
+        StreamMessageListenerContainer<String, MapRecord<String, String, String>> container =
+                StreamMessageListenerContainer.create(connectionFactory, options);
+
+        consumer.createGroupIfAbsent();
+        container.receive(Consumer.from(properties.group(), consumer.getConsumerName()),
+                StreamOffset.create(properties.streamKey(), ReadOffset.lastConsumed()),
+                consumer::onMessage);
+        return container;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.fcmretryplayground.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.fan-out")
+public record NotificationFanOutProperties(
+        // true 면 NotificationCommand 를 수신자 묶음으로 나누어 Redis Stream 에 넣고 모든 노드가 나누어 전송한다.
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("notification:fan-out") String streamKey,
+        @DefaultValue("notification-senders") String group,
+        // 비어 있으면 pid@hostname 을 사용한다.
+        @DefaultValue("") String consumerName,
+        // Stream 항목 하나에 담는 수신자 수
+        @DefaultValue("1000") int chunkSize,
+        // XREADGROUP 1회에 읽는 항목 수와 대기 시간
+        @DefaultValue("10") int readCount,
+        @DefaultValue("1s") Duration pollTimeout,
+        // 이 시간 동안 ACK 되지 않은 항목은 처리하던 노드가 종료된 것으로 보고 다른 노드가 가져온다.
+        @DefaultValue("5m") Duration claimMinIdle,
+        @DefaultValue("30s") Duration claimInterval,
+        // 이 횟수 이상 전달된 항목은 더 이상 처리하지 않는다. (READY 로그는 복구 스케줄러가 처리한다)
+        @DefaultValue("5") int maxDeliveries
+) {
+}
@@ -0,0 +1,66 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.domain.notification.NotificationLogIdGenerator;
+import com.example.fcmretryplayground.domain.notification.NotificationLogNodeLease;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * NotificationLog ID 노드 번호를 정한다.
+ * Redis 를 공유하는 백엔드를 하나라도 사용하면 여러 노드로 실행하는 구성으로 보고,
+ * node-id 를 필수로 요구하며 같은 노드 번호를 사용하는 인스턴스가 있으면 시작하지 않는다.
+ */
+@Configuration
+public class NotificationLogIdConfig {
+
+    @Bean
+    public NotificationLogIdGenerator notificationLogIdGenerator(NotificationLogWriterProperties properties,
+                                                                 ObjectProvider<NotificationLogNodeLease> nodeLease) {
+        NotificationLogNodeLease lease = nodeLease.getIfAvailable();
+        if (lease != null) {
+            return new NotificationLogIdGenerator(lease.nodeId());
+        }
+        return new NotificationLogIdGenerator(properties.nodeId() == null ? 0 : properties.nodeId());
+    }
+
+    @Bean
+    @Conditional(SharedRedisBackendCondition.class)
+    public NotificationLogNodeLease notificationLogNodeLease(StringRedisTemplate redisTemplate,
+                                                             NotificationLogWriterProperties properties) {
+        NotificationLogNodeLease lease = new NotificationLogNodeLease(redisTemplate, properties);
+        lease.acquire();
+        return lease;
+    }
+
+    static class SharedRedisBackendCondition extends AnyNestedCondition {
+
+        SharedRedisBackendCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "notification.retry", name = "queue", havingValue = "REDIS")
+        static class RetryQueue {
+        }
+
+        @ConditionalOnProperty(prefix = "notification.send-guard", name = "backend", havingValue = "REDIS")
+        static class SendGuard {
+        }
+
+        @ConditionalOnProperty(prefix = "notification.rate-limit", name = "backend", havingValue = "REDIS")
+        static class RateLimit {
+        }
+
+        @ConditionalOnProperty(prefix = "notification.coalescing", name = "backend", havingValue = "REDIS")
+        static class Coalescing {
+        }
+
+        @ConditionalOnProperty(prefix = "notification.fan-out", name = "enabled", havingValue = "true")
+        static class FanOut {
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.fcmretryplayground.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.log.writer")
+public record NotificationLogWriterProperties(
+        // JDBC 배치 1회에 담을 최대 row 수이자, 대기 중인 상태 변경이 이 수에 도달하면 즉시 flush 한다.
+        @DefaultValue("500") int flushSize,
+        // 대기 중인 상태 변경(SUCCESS / FAIL)을 주기적으로 flush 하는 간격
+        @DefaultValue("1s") Duration flushInterval,
+        // NotificationLog ID 생성용 노드 번호 (0 ~ 1023), 애플리케이션 인스턴스마다 달라야 한다.
+        // Redis 를 공유하는 여러 노드 구성에서는 필수이고, 단일 노드 구성에서 지정하지 않으면 0 을 사용한다.
+        Integer nodeId,
+        // 여러 노드 구성에서 노드 번호를 Redis 에 점유하는 시간 및 점유를 갱신하는 간격
+        @DefaultValue("30s") Duration nodeLeaseTtl,
+        @DefaultValue("10s") Duration nodeLeaseRenewInterval
+) {
+
+    public NotificationLogWriterProperties {
+        if (nodeLeaseRenewInterval.compareTo(nodeLeaseTtl) >= 0) {
+            throw new IllegalArgumentException("nodeLeaseRenewInterval must be less than nodeLeaseTtl");
+        }
+    }
+}
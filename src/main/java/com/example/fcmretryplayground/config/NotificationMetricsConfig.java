@@ -0,0 +1,52 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.application.notification.coalescing.NotificationCoalescingBuffer;
+import com.example.fcmretryplayground.application.notification.retry.NotificationRetryQueue;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class NotificationMetricsConfig {
+
+    /**
+     * 전송 대기량 gauge.
+     * - notification.executor.queue.size : 우선순위별 실행기 작업 큐 길이 (priority, PLATFORM 모드에서만 등록)
+     * - notification.retry.backlog : 재시도 큐에 대기 중인 작업 수
+     * - notification.coalescing.backlog : 요약 알림 전송을 기다리는 (사용자, NotificationType) 묶음 수
+     */
+    @Bean
+    public MeterBinder notificationBacklogMetrics(
+            @Qualifier(NotificationExecutorConfig.NOTIFICATION_EXECUTOR) AsyncTaskExecutor notificationExecutor,
+            @Qualifier(NotificationExecutorConfig.PRIORITY_NOTIFICATION_EXECUTOR)
+            AsyncTaskExecutor priorityNotificationExecutor,
+            NotificationRetryQueue notificationRetryQueue,
+            NotificationCoalescingBuffer notificationCoalescingBuffer) {
+        return registry -> {
+            registerQueueSize(registry, notificationExecutor, NotificationPriority.NORMAL);
+            registerQueueSize(registry, priorityNotificationExecutor, NotificationPriority.HIGH);
+            Gauge.builder("notification.retry.backlog", notificationRetryQueue, NotificationRetryQueue::size)
+                    .description("재시도 큐에 대기 중인 작업 수")
+                    .register(registry);
+            Gauge.builder("notification.coalescing.backlog", notificationCoalescingBuffer,
+                            NotificationCoalescingBuffer::size)
+                    .description("요약 알림 전송을 기다리는 묶음 수")
+                    .register(registry);
+        };
+    }
+
+    private void registerQueueSize(MeterRegistry registry, AsyncTaskExecutor executor, NotificationPriority priority) {
+        if (executor instanceof ThreadPoolTaskExecutor threadPoolExecutor) {
+            Gauge.builder("notification.executor.queue.size", threadPoolExecutor, ThreadPoolTaskExecutor::getQueueSize)
+                    .description("알림 실행기 작업 큐 길이")
+                    .tag("priority", priority.name())
+                    .register(registry);
+        }
+    }
+}
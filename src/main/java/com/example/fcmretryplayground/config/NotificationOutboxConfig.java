@@ -0,0 +1,25 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.application.notification.outbox.NotificationOutboxRelay;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class NotificationOutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "notification.outbox", name = {"enabled", "notify-on-insert"},
+            havingValue = "true")
+    public RedisMessageListenerContainer notificationOutboxListenerContainer(
+            RedisConnectionFactory connectionFactory, NotificationOutboxRelay relay) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> relay.wakeUp(),
+                new ChannelTopic(NotificationOutboxRelay.WAKE_UP_CHANNEL));
+        return container;
+    }
+}
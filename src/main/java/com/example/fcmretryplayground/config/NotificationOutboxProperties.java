@@ -0,0 +1,19 @@
+package com.example.fcmretryplayground.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.outbox")
+public record NotificationOutboxProperties(
+        // false 면 ApplicationEvent 로 같은 JVM 안에서 처리한다.
+        @DefaultValue("false") boolean enabled,
+        // relay 가 1회 선점하는 최대 outbox 수
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("500ms") Duration pollInterval,
+        // 선점 후 이 시간 안에 처리되지 않은 outbox 는 다른 노드가 다시 선점한다.
+        @DefaultValue("5m") Duration lease,
+        // true 면 커밋 후 Redis Pub/Sub 으로 모든 노드의 relay 를 깨워 poll 주기를 기다리지 않는다.
+        @DefaultValue("false") boolean notifyOnInsert
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.fcmretryplayground.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * HIGH 우선순위 알림 전송 설정.
+ * HIGH 알림은 별도 실행기에서 전송하고, FCM 전송 허용량(rate limit, 동시 요청 수) 중 reservedShare 만큼을 예약해 사용한다.
+ */
+@ConfigurationProperties(prefix = "notification.priority")
+public record NotificationPriorityProperties(
+        // 0 이면 예약하지 않고 NORMAL 과 허용량을 공유한다.
+        @DefaultValue("0.2") double reservedShare,
+        // HIGH 실행기 설정 (PLATFORM 모드), VIRTUAL 모드에서는 사용하지 않는다.
+        @DefaultValue("4") int corePoolSize,
+        @DefaultValue("8") int maxPoolSize,
+        @DefaultValue("1000") int queueCapacity
+) {
+
+    public NotificationPriorityProperties {
+        if (reservedShare < 0 || reservedShare >= 1) {
+            throw new IllegalArgumentException("reservedShare must be between 0 (inclusive) and 1 (exclusive)");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.fcmretryplayground.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.recovery")
+public record NotificationRecoveryProperties(
+        @DefaultValue("true") boolean enabled,
+        // 1회 선점(조회)하는 최대 로그 수
+        @DefaultValue("500") int batchSize,
+        // 생성된 지 이 시간이 지나지 않은 로그는 아직 전송 중일 수 있으므로 복구하지 않는다.
+        @DefaultValue("5m") Duration minAge,
+        // 선점한 로그를 다른 노드가 다시 조회하지 않는 시간
+        @DefaultValue("10m") Duration lease,
+        // COUNT 가 이 값 이상인 로그는 더 이상 복구하지 않는다.
+        @DefaultValue("5") int maxCount
+) {
+}
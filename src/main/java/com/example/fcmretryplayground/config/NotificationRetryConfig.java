@@ -0,0 +1,27 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.application.notification.retry.NotificationRetryQueue;
+import com.example.fcmretryplayground.application.notification.retry.RedisRetryQueue;
+import com.example.fcmretryplayground.application.notification.retry.TimingWheelRetryQueue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class NotificationRetryConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "notification.retry", name = "queue", havingValue = "IN_MEMORY", matchIfMissing = true)
+    public NotificationRetryQueue timingWheelRetryQueue(NotificationRetryProperties properties) {
+        return new TimingWheelRetryQueue(properties.tickDuration().toMillis(), properties.wheelSize(),
+                System.currentTimeMillis());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "notification.retry", name = "queue", havingValue = "REDIS")
+    public NotificationRetryQueue redisRetryQueue(StringRedisTemplate redisTemplate, ObjectMapper mapper) {
+        return new RedisRetryQueue(redisTemplate, mapper);
+    }
+}
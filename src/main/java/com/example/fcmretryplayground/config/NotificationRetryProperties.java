@@ -0,0 +1,30 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.application.notification.retry.RetryQueueType;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.retry")
+public record NotificationRetryProperties(
+        @DefaultValue("IN_MEMORY") RetryQueueType queue,
+        // 최초 전송을 포함한 최대 전송 시도 횟수
+        @DefaultValue("2") int maxAttempts,
+        @DefaultValue("5s") Duration initialDelay,
+        @DefaultValue("2.0") double multiplier,
+        // 재시도 큐를 확인하는 간격 및 1회에 꺼내는 최대 건수
+        @DefaultValue("100ms") Duration pollInterval,
+        @DefaultValue("500") int pollBatchSize,
+        // IN_MEMORY 타이밍 휠 설정
+        @DefaultValue("100ms") Duration tickDuration,
+        @DefaultValue("512") int wheelSize,
+        // 동시에 재전송 중인 묶음(pollBatchSize 단위) 수 상한, 모두 사용 중이면 다음 주기까지 큐에서 꺼내지 않는다.
+        @DefaultValue("4") int maxInFlightBatches
+) {
+
+    public NotificationRetryProperties {
+        if (maxInFlightBatches < 1) {
+            throw new IllegalArgumentException("maxInFlightBatches must be positive");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.application.notification.idempotency.InMemoryNotificationSendGuard;
+import com.example.fcmretryplayground.application.notification.idempotency.NoOpNotificationSendGuard;
+import com.example.fcmretryplayground.application.notification.idempotency.NotificationSendGuard;
+import com.example.fcmretryplayground.application.notification.idempotency.RedisNotificationSendGuard;
+import com.example.fcmretryplayground.config.NotificationSendGuardProperties.GuardBackend;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class NotificationSendGuardConfig {
+
+    @Bean
+    public NotificationSendGuard notificationSendGuard(NotificationSendGuardProperties properties,
+                                                       ObjectProvider<StringRedisTemplate> redisTemplate) {
+        if (!properties.enabled()) {
+            return new NoOpNotificationSendGuard();
+        }
+        if (properties.backend() == GuardBackend.REDIS) {
+            return new RedisNotificationSendGuard(redisTemplate.getObject(), properties);
+        }
+        return new InMemoryNotificationSendGuard(properties);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.fcmretryplayground.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.send-guard")
+public record NotificationSendGuardProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("IN_MEMORY") GuardBackend backend,
+        // 전송 중 표시 유지 시간, 전송 중 노드가 종료되어도 이 시간이 지나면 다시 전송할 수 있다.
+        @DefaultValue("1m") Duration inFlightTtl,
+        // 전송 완료 표시 유지 시간, 이 시간 안의 같은 (notificationId, 토큰) 전송은 중복으로 보고 보내지 않는다.
+        @DefaultValue("24h") Duration sentTtl,
+        // IN_MEMORY 백엔드가 보관하는 최대 키 수 (초과 시 오래된 키부터 제거)
+        @DefaultValue("100000") int maxEntries
+) {
+
+    public enum GuardBackend {
+        IN_MEMORY, REDIS
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.fcmretryplayground.config;
+
+import com.example.fcmretryplayground.application.notification.SendMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.send")
+public record NotificationSendProperties(
+        @DefaultValue("BATCH") SendMode mode,
+        @DefaultValue("500") int batchSize
+) {
+    // FCM sendEach / sendEachForMulticast 의 1회 요청 최대 메시지 수
+    public static final int FCM_MAX_BATCH_SIZE = 500;
+
+    public NotificationSendProperties {
+        if (batchSize < 1 || batchSize > FCM_MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batchSize must be between 1 and " + FCM_MAX_BATCH_SIZE);
+        }
+    }
+}
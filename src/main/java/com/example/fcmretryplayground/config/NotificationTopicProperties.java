@@ -0,0 +1,28 @@
+package com.example.fcmretryplayground.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notification.topic")
+public record NotificationTopicProperties(
+        // false 면 topic 구독을 관리하지 않는다. (topic 전송 NotificationType 을 사용하지 않는 경우)
+        @DefaultValue("true") boolean enabled,
+        // subscribeToTopic / unsubscribeFromTopic 1회에 담을 최대 토큰 수이자, 대기 중인 변경이 이 수에 도달하면 즉시 flush 한다.
+        @DefaultValue("1000") int batchSize,
+        // 대기 중인 구독 변경을 주기적으로 flush 하는 간격
+        @DefaultValue("1s") Duration flushInterval,
+        // 이벤트로 반영되지 않은 기존 토큰(도입 이전 토큰, 반영 전 종료된 노드의 변경)을 주기적으로 다시 구독시킨다.
+        @DefaultValue("true") boolean backfillEnabled,
+        // 1회 실행의 최대 시간, 남은 토큰은 다음 실행에서 이어서 구독시킨다.
+        @DefaultValue("1h") Duration backfillMaxDuration
+) {
+    // FCM subscribeToTopic / unsubscribeFromTopic 의 1회 요청 최대 토큰 수
+    public static final int FCM_MAX_TOPIC_BATCH_SIZE = 1000;
+
+    public NotificationTopicProperties {
+        if (batchSize < 1 || batchSize > FCM_MAX_TOPIC_BATCH_SIZE) {
+            throw new IllegalArgumentException("batchSize must be between 1 and " + FCM_MAX_TOPIC_BATCH_SIZE);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.fcmretryplayground.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // 토큰 점검, 토큰 삭제, topic 구독 보정처럼 수 시간 걸릴 수 있는 작업 전용 실행기
+    public static final String MAINTENANCE_EXECUTOR = "maintenanceExecutor";
+    // outbox 선점, 전송 대기를 수행하는 relay 전용 실행기
+    public static final String OUTBOX_RELAY_EXECUTOR = "outboxRelayExecutor";
+    // FCM topic 구독 변경을 반영하는 전용 실행기
+    public static final String TOPIC_MEMBERSHIP_EXECUTOR = "topicMembershipExecutor";
+
+    /**
+     * 스케줄러 스레드는 하나뿐이므로 긴 작업을 스케줄러 스레드에서 직접 실행하면
+     * 로그 flush, 재시도, outbox, 묶음 알림 같은 짧은 주기 작업이 작업이 끝날 때까지 멈춘다.
+     * 긴 작업은 이 실행기로 넘기고, 작업마다 동시에 하나만 실행한다. (토큰 점검, 토큰 삭제, topic 구독 보정이 겹쳐도 실행할 수 있도록 3개)
+     * 종료 시에는 기다리지 않고 인터럽트하며, 각 작업은 진행 위치를 기록하므로 다음 실행에서 이어서 처리한다.
+     */
+    @Bean(name = MAINTENANCE_EXECUTOR)
+    public AsyncTaskExecutor maintenanceExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("maintenance-");
+        executor.setCorePoolSize(3);
+        executor.setMaxPoolSize(3);
+        executor.setQueueCapacity(0);
+        return executor;
+    }
+
+    /**
+     * outbox relay 는 전송 완료를 기다린 뒤 outbox 를 삭제하므로 스케줄러 스레드나 Redis pub/sub 리스너 스레드에서 실행하지 않는다.
+     * 한 번에 하나의 순회만 실행하고, 순회 중에 들어온 신호를 위해 대기열은 1개만 둔다.
+     */
+    @Bean(name = OUTBOX_RELAY_EXECUTOR)
+    public AsyncTaskExecutor outboxRelayExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("outbox-relay-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        return executor;
+    }
+
+    /**
+     * subscribeToTopic / unsubscribeFromTopic 은 FCM 응답을 기다리는 호출이므로 스케줄러 스레드나 토큰 변경 요청 스레드에서 실행하지 않는다.
+     * 구독 변경은 토큰별 마지막 변경만 반영해야 하므로 한 번에 하나의 flush 만 실행한다.
+     */
+    @Bean(name = TOPIC_MEMBERSHIP_EXECUTOR)
+    public AsyncTaskExecutor topicMembershipExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("topic-membership-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        return executor;
+    }
+}
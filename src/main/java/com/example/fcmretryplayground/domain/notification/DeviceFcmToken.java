@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -19,7 +20,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "DEVICE_FCM_TOKEN")
+@Table(name = "DEVICE_FCM_TOKEN", indexes = {
+        @Index(name = "IDX_DEVICE_FCM_TOKEN_USER_STATUS", columnList = "USER_ID, STATUS"),
+        // 무효 토큰 삭제 시 STATUS 별 ID 순 조회
+        @Index(name = "IDX_DEVICE_FCM_TOKEN_STATUS", columnList = "STATUS")
+})
 @Getter
 @NoArgsConstructor
 public class DeviceFcmToken {
@@ -42,7 +47,7 @@ public class DeviceFcmToken {
     private String fcmToken;
 
     @Enumerated(value = EnumType.STRING)
-    @Column(nullable = false)
+    @Column(name = "STATUS", nullable = false)
     private FcmTokenStatus status;
 
     @Enumerated(value = EnumType.STRING)
@@ -76,4 +81,14 @@ public class DeviceFcmToken {
         this.status = FcmTokenStatus.INVALID;
     }
 
+    // 앱이 새 FCM 토큰을 발급받은 경우, 무효화되었던 기기도 다시 발송 대상이 된다.
+    public void refresh(String fcmToken) {
+        this.fcmToken = fcmToken;
+        this.status = FcmTokenStatus.ACTIVE;
+    }
+
+    public void changeNotificationOptIn(Boolean notificationOptIn) {
+        this.notificationOptIn = notificationOptIn;
+    }
+
 }
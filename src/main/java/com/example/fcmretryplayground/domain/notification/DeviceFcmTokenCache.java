@@ -0,0 +1,176 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import com.example.fcmretryplayground.config.DeviceFcmTokenCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자별 발송 대상 토큰(ACTIVE, 푸시 수신 동의) 목록을 캐시한다.
+ * near cache(로컬) -> Redis(MGET) -> DB(IN 절 조회) 순서로 조회하고, 하위 계층에서 읽은 값은 상위 계층에 채운다.
+ * 토큰이 없는 사용자도 빈 목록으로 캐시해 같은 사용자를 반복해서 DB 에서 조회하지 않는다.
+ * Redis 장애 시에는 DB 에서 조회한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeviceFcmTokenCache {
+
+    private static final String KEY_PREFIX = "notification:device-tokens:";
+    // IN 절 파라미터와 MGET 키 수가 과도하게 커지지 않도록 나누어 조회한다.
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final TypeReference<List<DeviceFcmTokenView>> TOKENS_TYPE = new TypeReference<>() {
+    };
+
+    private final DeviceFcmTokenRepository deviceFcmTokenRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper mapper;
+    private final DeviceFcmTokenCacheProperties properties;
+
+    private final Map<Long, NearCacheEntry> nearCache = new ConcurrentHashMap<>();
+
+    /**
+     * 수신자들의 발송 대상 토큰을 수신자 순서대로 반환한다.
+     */
+    public List<DeviceFcmTokenView> findDeliverableTokens(List<Long> userIds) {
+        Map<Long, List<DeviceFcmTokenView>> tokensByUser = new HashMap<>();
+        for (int from = 0; from < userIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            tokensByUser.putAll(findChunk(userIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, userIds.size()))));
+        }
+        List<DeviceFcmTokenView> deviceFcmTokens = new ArrayList<>();
+        userIds.forEach(userId -> deviceFcmTokens.addAll(tokensByUser.getOrDefault(userId, List.of())));
+        return deviceFcmTokens;
+    }
+
+    /**
+     * 토큰 무효화, 토큰 갱신, 푸시 수신 동의 변경 시 해당 사용자의 캐시를 지운다.
+     */
+    public void evict(Collection<Long> userIds) {
+        if (!properties.enabled() || userIds.isEmpty()) {
+            return;
+        }
+        userIds.forEach(nearCache::remove);
+        try {
+            redisTemplate.delete(userIds.stream().map(this::key).toList());
+        } catch (DataAccessException e) {
+            log.warn("Device Token Cache 삭제 실패 - userIds: {}, {}", userIds, e.getMessage());
+        }
+    }
+
+    private Map<Long, List<DeviceFcmTokenView>> findChunk(List<Long> userIds) {
+        if (!properties.enabled()) {
+            return loadFromDatabase(userIds);
+        }
+        Map<Long, List<DeviceFcmTokenView>> found = new HashMap<>();
+        long now = System.currentTimeMillis();
+        List<Long> nearMisses = new ArrayList<>();
+        for (Long userId : userIds) {
+            NearCacheEntry entry = nearCache.get(userId);
+            if (entry != null && entry.expiresAt() > now) {
+                found.put(userId, entry.tokens());
+            } else {
+                nearMisses.add(userId);
+            }
+        }
+        if (nearMisses.isEmpty()) {
+            return found;
+        }
+
+        Map<Long, List<DeviceFcmTokenView>> fromRedis = loadFromRedis(nearMisses);
+        List<Long> redisMisses = nearMisses.stream().filter(userId -> !fromRedis.containsKey(userId)).toList();
+        Map<Long, List<DeviceFcmTokenView>> fromDatabase = redisMisses.isEmpty()
+                ? Map.of() : loadFromDatabase(redisMisses);
+        saveToRedis(fromDatabase);
+
+        fromRedis.forEach((userId, tokens) -> putNearCache(userId, tokens, now));
+        fromDatabase.forEach((userId, tokens) -> putNearCache(userId, tokens, now));
+        found.putAll(fromRedis);
+        found.putAll(fromDatabase);
+        return found;
+    }
+
+    private Map<Long, List<DeviceFcmTokenView>> loadFromRedis(List<Long> userIds) {
+        Map<Long, List<DeviceFcmTokenView>> found = new HashMap<>();
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(userIds.stream().map(this::key).toList());
+            if (values == null) {
+                return found;
+            }
+            for (int i = 0; i < userIds.size(); i++) {
+                String value = values.get(i);
+                if (value != null) {
+                    found.put(userIds.get(i), mapper.readValue(value, TOKENS_TYPE));
+                }
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Device Token Cache 조회 실패, DB 에서 조회합니다. {}", e.getMessage());
+        }
+        return found;
+    }
+
+    // 조회한 모든 사용자를 결과에 포함한다. (토큰이 없는 사용자는 빈 목록)
+    private Map<Long, List<DeviceFcmTokenView>> loadFromDatabase(List<Long> userIds) {
+        Map<Long, List<DeviceFcmTokenView>> found = new LinkedHashMap<>();
+        userIds.forEach(userId -> found.put(userId, new ArrayList<>()));
+        deviceFcmTokenRepository.findDeliverableTokens(userIds, FcmTokenStatus.ACTIVE)
+                .forEach(token -> found.get(token.userId()).add(token.toView()));
+        return found;
+    }
+
+    private void saveToRedis(Map<Long, List<DeviceFcmTokenView>> tokensByUser) {
+        if (tokensByUser.isEmpty()) {
+            return;
+        }
+        try {
+            Map<byte[], byte[]> values = new HashMap<>();
+            for (Map.Entry<Long, List<DeviceFcmTokenView>> entry : tokensByUser.entrySet()) {
+                values.put(key(entry.getKey()).getBytes(StandardCharsets.UTF_8),
+                        mapper.writeValueAsString(entry.getValue()).getBytes(StandardCharsets.UTF_8));
+            }
+            Expiration expiration = Expiration.from(properties.ttl());
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                values.forEach((key, value) -> connection.stringCommands()
+                        .set(key, value, expiration, SetOption.upsert()));
+                return null;
+            });
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Device Token Cache 저장 실패 - userIds: {}, {}",
+                    tokensByUser.keySet().stream().map(String::valueOf).collect(Collectors.joining(",")),
+                    e.getMessage());
+        }
+    }
+
+    private void putNearCache(Long userId, List<DeviceFcmTokenView> tokens, long now) {
+        if (nearCache.size() >= properties.nearCacheMaxSize()) {
+            nearCache.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (nearCache.size() >= properties.nearCacheMaxSize()) {
+                nearCache.clear();
+            }
+        }
+        nearCache.put(userId, new NearCacheEntry(List.copyOf(tokens), now + properties.nearCacheTtl().toMillis()));
+    }
+
+    private String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private record NearCacheEntry(List<DeviceFcmTokenView> tokens, long expiresAt) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import java.util.List;
+
+/**
+ * 토큰 점검을 위해 선점한 ACTIVE 토큰 묶음.
+ * previousId 는 선점 전 진행 위치이며, 점검에 실패하면 이 위치로 되돌린다.
+ */
+public record DeviceFcmTokenHealthBatch(long previousId, List<DeviceFcmTokenView> deviceFcmTokens) {
+
+    public long lastId() {
+        return deviceFcmTokens.isEmpty() ? previousId : deviceFcmTokens.get(deviceFcmTokens.size() - 1).id();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * ACTIVE 토큰을 (STATUS) 인덱스의 ID 키셋 순서로 선점하고 JOB_CHECKPOINT 에 작업(jobName)별 진행 위치를 기록한다. (토큰 점검, topic 구독 보정)
+ * 진행 위치 row 를 FOR UPDATE 로 잠근 짧은 트랜잭션 안에서 조회와 위치 갱신을 함께 수행하므로,
+ * 여러 노드가 동시에 실행되어도 서로 다른 구간을 선점한다. FCM 호출은 트랜잭션 밖에서 수행한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceFcmTokenHealthRepository {
+
+    private static final String INIT_CHECKPOINT_SQL = """
+            INSERT IGNORE INTO job_checkpoint (JOB_NAME, LAST_ID, UPDATED_AT)
+            VALUES (:jobName, 0, :now)
+            """;
+
+    private static final String LOCK_CHECKPOINT_SQL = """
+            SELECT LAST_ID
+            FROM job_checkpoint
+            WHERE JOB_NAME = :jobName
+            FOR UPDATE
+            """;
+
+    private static final String SELECT_TOKENS_SQL = """
+            SELECT ID, FCM_TOKEN, DEVICE_TYPE, NOTIFICATION_OPT_IN
+            FROM device_fcm_token
+            WHERE STATUS = :status
+              AND ID > :afterId
+            ORDER BY ID
+            LIMIT :limit
+            """;
+
+    private static final String UPDATE_CHECKPOINT_SQL = """
+            UPDATE job_checkpoint
+            SET LAST_ID = :lastId, UPDATED_AT = :now
+            WHERE JOB_NAME = :jobName
+            """;
+
+    // 그 사이 다른 노드가 위치를 옮겼다면 되돌리지 않는다.
+    private static final String REWIND_CHECKPOINT_SQL = """
+            UPDATE job_checkpoint
+            SET LAST_ID = :previousId, UPDATED_AT = :now
+            WHERE JOB_NAME = :jobName
+              AND LAST_ID = :lastId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 진행 위치 다음의 ACTIVE 토큰을 limit 개 선점한다.
+     * 끝까지 순회하여 남은 토큰이 없으면 진행 위치를 처음으로 되돌리고 빈 묶음을 반환한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public DeviceFcmTokenHealthBatch claim(String jobName, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource checkpoint = new MapSqlParameterSource()
+                .addValue("jobName", jobName)
+                .addValue("now", now);
+        jdbcTemplate.update(INIT_CHECKPOINT_SQL, checkpoint);
+        long previousId = jdbcTemplate.queryForObject(LOCK_CHECKPOINT_SQL, checkpoint, Long.class);
+
+        List<DeviceFcmTokenView> deviceFcmTokens = jdbcTemplate.query(SELECT_TOKENS_SQL, new MapSqlParameterSource()
+                        .addValue("status", FcmTokenStatus.ACTIVE.name())
+                        .addValue("afterId", previousId)
+                        .addValue("limit", limit),
+                (rs, rowNum) -> new DeviceFcmTokenView(
+                        rs.getLong("ID"),
+                        rs.getString("FCM_TOKEN"),
+                        DeviceType.valueOf(rs.getString("DEVICE_TYPE")),
+                        rs.getBoolean("NOTIFICATION_OPT_IN")));
+
+        DeviceFcmTokenHealthBatch batch = new DeviceFcmTokenHealthBatch(previousId, deviceFcmTokens);
+        jdbcTemplate.update(UPDATE_CHECKPOINT_SQL, checkpoint
+                .addValue("lastId", deviceFcmTokens.isEmpty() ? 0 : batch.lastId()));
+        return batch;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void rewind(String jobName, DeviceFcmTokenHealthBatch batch) {
+        jdbcTemplate.update(REWIND_CHECKPOINT_SQL, new MapSqlParameterSource()
+                .addValue("jobName", jobName)
+                .addValue("previousId", batch.previousId())
+                .addValue("lastId", batch.lastId())
+                .addValue("now", LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import com.example.fcmretryplayground.config.DeviceFcmTokenHygieneProperties;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 전송 결과 UNREGISTERED / INVALID_ARGUMENT 인 토큰을 모아 flushSize 단위의 UPDATE ... WHERE ID IN (...) 로 무효화한다.
+ * 전송 트랜잭션이나 엔티티 상태와 무관하게 별도 트랜잭션에서 반영되며, 반영 전까지는 해당 토큰으로 한 번 더 전송될 수 있다.
+ */
+@Component
+@Slf4j
+public class DeviceFcmTokenInvalidationBuffer {
+
+    private final DeviceFcmTokenService deviceFcmTokenService;
+    private final DeviceFcmTokenHygieneProperties properties;
+
+    private final Object pendingLock = new Object();
+    private Set<Long> pendingTokenIds = new LinkedHashSet<>();
+
+    public DeviceFcmTokenInvalidationBuffer(DeviceFcmTokenService deviceFcmTokenService,
+                                            DeviceFcmTokenHygieneProperties properties) {
+        this.deviceFcmTokenService = deviceFcmTokenService;
+        this.properties = properties;
+    }
+
+    public void add(Long deviceFcmTokenId) {
+        int pendingSize;
+        synchronized (pendingLock) {
+            pendingTokenIds.add(deviceFcmTokenId);
+            pendingSize = pendingTokenIds.size();
+        }
+        if (pendingSize >= properties.flushSize()) {
+            flush();
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${notification.token-hygiene.flush-interval:1s}")
+    public synchronized void flush() {
+        List<Long> tokenIds;
+        synchronized (pendingLock) {
+            if (pendingTokenIds.isEmpty()) {
+                return;
+            }
+            tokenIds = new ArrayList<>(pendingTokenIds);
+            pendingTokenIds = new LinkedHashSet<>();
+        }
+
+        for (int from = 0; from < tokenIds.size(); from += properties.flushSize()) {
+            List<Long> chunk = tokenIds.subList(from, Math.min(from + properties.flushSize(), tokenIds.size()));
+            try {
+                deviceFcmTokenService.markInvalid(chunk);
+            } catch (Exception e) {
+                log.error("Device FCM Token 무효화 실패 : {}", e.getMessage());
+                // 실패한 토큰은 다음 flush 에서 다시 시도한다.
+                synchronized (pendingLock) {
+                    pendingTokenIds.addAll(chunk);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 전송 대상이 아닌 토큰을 chunk 단위로 삭제한다.
+ * (STATUS) 인덱스를 ID 순으로 조회하고 FOR UPDATE SKIP LOCKED 로 선점하므로 여러 노드가 동시에 실행되어도 서로 기다리지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceFcmTokenPurgeRepository {
+
+    private static final String CLAIM_SQL = """
+            SELECT ID
+            FROM device_fcm_token
+            WHERE STATUS = :status
+            ORDER BY ID
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String DELETE_SQL = """
+            DELETE FROM device_fcm_token
+            WHERE ID IN (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int purge(FcmTokenStatus status, int limit) {
+        if (status.isDeliverable()) {
+            throw new IllegalArgumentException("deliverable token cannot be purged: " + status);
+        }
+        List<Long> ids = jdbcTemplate.queryForList(CLAIM_SQL, new MapSqlParameterSource()
+                .addValue("status", status.name())
+                .addValue("limit", limit), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", ids));
+    }
+}
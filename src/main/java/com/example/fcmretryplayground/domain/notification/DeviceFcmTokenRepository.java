@@ -1,10 +1,45 @@
 package com.example.fcmretryplayground.domain.notification;
 
 import com.example.fcmretryplayground.domain.user.User;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface DeviceFcmTokenRepository extends JpaRepository<DeviceFcmToken, Long> {
 
     List<DeviceFcmToken> findAllByUserAndStatus(User user, FcmTokenStatus status);
+
+    // (USER_ID, STATUS) 복합 인덱스를 사용하며, 푸시 수신 거부 기기는 SQL 에서 제외한다.
+    @Query("""
+            select new com.example.fcmretryplayground.domain.notification.UserDeviceFcmTokenView(
+                t.user.id, t.id, t.fcmToken, t.deviceType, t.notificationOptIn)
+            from DeviceFcmToken t
+            where t.user.id in :userIds
+              and t.status = :status
+              and t.notificationOptIn = true
+            """)
+    List<UserDeviceFcmTokenView> findDeliverableTokens(@Param("userIds") Collection<Long> userIds,
+                                                       @Param("status") FcmTokenStatus status);
+
+    // 토큰 캐시 무효화 대상 사용자를 찾는다.
+    @Query("select distinct t.user.id from DeviceFcmToken t where t.id in :ids")
+    List<Long> findUserIdsByIds(@Param("ids") Collection<Long> ids);
+
+    // 복구 시 NotificationLog 에 기록된 토큰 ID 로 현재 토큰 값을 조회한다. (그 사이 무효화된 토큰은 제외)
+    @Query("""
+            select new com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView(
+                t.id, t.fcmToken, t.deviceType, t.notificationOptIn)
+            from DeviceFcmToken t
+            where t.id in :ids
+              and t.status = :status
+            """)
+    List<DeviceFcmTokenView> findTokensByIds(@Param("ids") Collection<Long> ids,
+                                             @Param("status") FcmTokenStatus status);
+
+    @Modifying
+    @Query("update DeviceFcmToken t set t.status = :status where t.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") FcmTokenStatus status);
 }
@@ -0,0 +1,105 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import com.example.fcmretryplayground.config.NotificationTopicProperties;
+import com.example.fcmretryplayground.domain.notification.event.DeviceFcmTokenChangedEvent;
+import com.example.fcmretryplayground.domain.user.User;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 발송 대상 토큰 집합을 바꾸는 변경(등록, 무효화, 토큰 갱신, 푸시 수신 동의 변경)을 수행하고 토큰 캐시를 지운다.
+ * 커밋 전에 캐시를 지우면 다른 스레드가 변경 전 값을 다시 캐시할 수 있으므로 커밋 이후에 지운다.
+ * topic 구독도 커밋 이후에 반영되도록 DeviceFcmTokenChangedEvent 를 발행한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class DeviceFcmTokenService {
+
+    private final DeviceFcmTokenRepository deviceFcmTokenRepository;
+    private final DeviceFcmTokenCache deviceFcmTokenCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationTopicProperties topicProperties;
+
+    @Transactional
+    public DeviceFcmToken register(User user, String fcmToken, DeviceType deviceType, Boolean notificationOptIn) {
+        DeviceFcmToken deviceFcmToken = deviceFcmTokenRepository.save(
+                DeviceFcmToken.create(user, notificationOptIn, fcmToken, FcmTokenStatus.ACTIVE, deviceType));
+        if (Boolean.TRUE.equals(notificationOptIn)) {
+            publishChanged(List.of(fcmToken), List.of());
+        }
+        evictAfterCommit(List.of(user.getId()));
+        return deviceFcmToken;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markInvalid(Collection<Long> deviceFcmTokenIds) {
+        if (deviceFcmTokenIds.isEmpty()) {
+            return;
+        }
+        if (topicProperties.enabled()) {
+            publishChanged(List.of(), deviceFcmTokenRepository.findTokensByIds(deviceFcmTokenIds, FcmTokenStatus.ACTIVE)
+                    .stream()
+                    .filter(deviceFcmToken -> Boolean.TRUE.equals(deviceFcmToken.notificationOptIn()))
+                    .map(DeviceFcmTokenView::fcmToken)
+                    .toList());
+        }
+        deviceFcmTokenRepository.updateStatus(deviceFcmTokenIds, FcmTokenStatus.INVALID);
+        evictAfterCommit(deviceFcmTokenRepository.findUserIdsByIds(deviceFcmTokenIds));
+    }
+
+    @Transactional
+    public void refreshToken(Long deviceFcmTokenId, String fcmToken) {
+        DeviceFcmToken deviceFcmToken = deviceFcmTokenRepository.findById(deviceFcmTokenId)
+                .orElseThrow(() -> new IllegalArgumentException("Device FCM Token 없음: " + deviceFcmTokenId));
+        String previousFcmToken = deviceFcmToken.getFcmToken();
+        deviceFcmToken.refresh(fcmToken);
+        if (isDeliverable(deviceFcmToken)) {
+            publishChanged(List.of(fcmToken), List.of(previousFcmToken));
+        }
+        evictAfterCommit(List.of(deviceFcmToken.getUser().getId()));
+    }
+
+    @Transactional
+    public void changeNotificationOptIn(Long deviceFcmTokenId, Boolean notificationOptIn) {
+        DeviceFcmToken deviceFcmToken = deviceFcmTokenRepository.findById(deviceFcmTokenId)
+                .orElseThrow(() -> new IllegalArgumentException("Device FCM Token 없음: " + deviceFcmTokenId));
+        deviceFcmToken.changeNotificationOptIn(notificationOptIn);
+        if (deviceFcmToken.getStatus().isDeliverable()) {
+            publishChanged(
+                    isDeliverable(deviceFcmToken) ? List.of(deviceFcmToken.getFcmToken()) : List.of(),
+                    isDeliverable(deviceFcmToken) ? List.of() : List.of(deviceFcmToken.getFcmToken()));
+        }
+        evictAfterCommit(List.of(deviceFcmToken.getUser().getId()));
+    }
+
+    private boolean isDeliverable(DeviceFcmToken deviceFcmToken) {
+        return deviceFcmToken.getStatus().isDeliverable() && Boolean.TRUE.equals(deviceFcmToken.getNotificationOptIn());
+    }
+
+    private void publishChanged(Collection<String> subscribedFcmTokens, Collection<String> unsubscribedFcmTokens) {
+        if (!topicProperties.enabled() || (subscribedFcmTokens.isEmpty() && unsubscribedFcmTokens.isEmpty())) {
+            return;
+        }
+        eventPublisher.publishEvent(new DeviceFcmTokenChangedEvent(subscribedFcmTokens, unsubscribedFcmTokens));
+    }
+
+    private void evictAfterCommit(Collection<Long> userIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deviceFcmTokenCache.evict(userIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deviceFcmTokenCache.evict(userIds);
+            }
+        });
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.fcmretryplayground.domain.notification;
+
+// 발송 대상 조회용 프로젝션 (User, DeviceFcmToken 엔티티를 로딩하지 않는다)
+public record DeviceFcmTokenView(Long id, String fcmToken, DeviceType deviceType, Boolean notificationOptIn) {
+}
@@ -0,0 +1,31 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 키셋 순서로 테이블을 순회하는 배치 작업의 진행 위치.
+ * 작업이 중단되어도 마지막으로 처리한 ID 다음부터 이어서 실행한다. (JDBC 로만 읽고 쓰며, 엔티티는 스키마 정의용이다)
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "JOB_CHECKPOINT")
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "JOB_NAME", length = 64, nullable = false)
+    private String jobName;
+
+    @Column(name = "LAST_ID", nullable = false)
+    private Long lastId;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    private LocalDateTime updatedAt;
+}
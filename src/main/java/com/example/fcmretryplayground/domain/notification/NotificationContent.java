@@ -0,0 +1,33 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+
+// 푸시 알림 제목과 본문 (재전송 시 Message 를 다시 만들기 위해 보관한다)
+// priority, collapseKey, type 은 payload 로 저장하지 않으므로 복구 스케줄러가 재전송하는 알림은 NORMAL, notificationId collapse key 로 전송되고 type 은 알 수 없다.
+public record NotificationContent(String title, String body, NotificationPriority priority, String collapseKey,
+                                  NotificationType type) {
+
+    private static final String DIGEST_COLLAPSE_KEY_PREFIX = "digest-";
+
+    public NotificationContent {
+        priority = priority == null ? NotificationPriority.NORMAL : priority;
+    }
+
+    public NotificationContent(String title, String body) {
+        this(title, body, NotificationPriority.NORMAL, null, null);
+    }
+
+    public static NotificationContent from(NotificationType type) {
+        return new NotificationContent(type.getTitle(), type.getMessage(), type.getPriority(), null, type);
+    }
+
+    /**
+     * window 동안 모인 같은 NotificationType 알림 count 건을 요약한 알림.
+     * 기기에 남아 있는 이전 요약 알림을 대체하도록 NotificationType 단위 collapse key 를 사용한다.
+     */
+    public static NotificationContent digest(NotificationType type, int count) {
+        return new NotificationContent(type.getTitle(), type.getMessage() + " 외 " + (count - 1) + "건",
+                type.getPriority(), DIGEST_COLLAPSE_KEY_PREFIX + type.name(), type);
+    }
+}
@@ -5,10 +5,10 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import java.time.LocalDateTime;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
@@ -17,19 +17,32 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
 @Entity
-@Table(name = "NOTIFICATION_LOG")
+@Table(name = "NOTIFICATION_LOG", indexes = {
+        // 복구 스케줄러가 (상태, 오류 코드) 별로 ID 키셋 페이지네이션을 수행한다.
+        @Index(name = "IDX_NOTIFICATION_LOG_STATUS_ERROR_CODE_ID",
+                columnList = "NOTIFICATION_STATUS, ERROR_CODE, NOTIFICATION_LOG_ID")
+})
 public class NotificationLog {
 
+    // NotificationLogIdGenerator 가 할당한다. (JDBC 배치 INSERT 를 위해 IDENTITY 를 사용하지 않는다)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "NOTIFICATION_LOG_ID", nullable = false)
     private Long id;
 
-    @Column(name = "USER_NOTIFICATION_TOKEN_ID", nullable = false)
+    // NotificationCommand.notificationId (멱등 키, collapse key)
+    @Column(name = "NOTIFICATION_ID", length = 64)
+    private String notificationId;
+
+    // topic 전송 로그는 토큰 없이 topic 을 기록한다.
+    @Column(name = "USER_NOTIFICATION_TOKEN_ID")
     private Long userNotificationTokenId;
 
-    @Column(name = "MESSAGE")
-    private String message;
+    @Column(name = "TOPIC")
+    private String topic;
+
+    // 제목, 본문은 NOTIFICATION_PAYLOAD 에 한 번만 저장하고 내용 해시로 참조한다.
+    @Column(name = "PAYLOAD_HASH", length = 64)
+    private String payloadHash;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "ERROR_CODE")
@@ -42,27 +55,63 @@ public class NotificationLog {
     @Column(name = "COUNT")
     private Integer count;
 
+    // 복구 스케줄러가 재전송 대상으로 선점한 시각 (선점 유지 시간 동안 다른 노드는 조회하지 않는다)
+    @Column(name = "CLAIMED_AT")
+    private LocalDateTime claimedAt;
+
     @Builder(access = AccessLevel.PRIVATE)
     private NotificationLog(
-            Long userNotificationTokenId, String message, MessagingErrorCode errorCode,
-            NotificationStatus notificationStatus, Integer count) {
+            Long id, String notificationId, Long userNotificationTokenId, String topic, String payloadHash,
+            MessagingErrorCode errorCode, NotificationStatus notificationStatus, Integer count) {
+        this.id = id;
+        this.notificationId = notificationId;
         this.userNotificationTokenId = userNotificationTokenId;
-        this.message = message;
+        this.topic = topic;
+        this.payloadHash = payloadHash;
         this.errorCode = errorCode;
         this.notificationStatus = notificationStatus;
         this.count = count;
     }
 
-    public static NotificationLog record(Long userNotificationTokenId, String message, MessagingErrorCode errorCode, NotificationStatus notificationStatus) {
+    public static NotificationLog record(Long id, String notificationId, Long userNotificationTokenId, String payloadHash,
+                                         MessagingErrorCode errorCode, NotificationStatus notificationStatus) {
         return NotificationLog.builder()
+                .id(id)
+                .notificationId(notificationId)
                 .userNotificationTokenId(userNotificationTokenId)
-                .message(message)
+                .payloadHash(payloadHash)
                 .errorCode(errorCode)
                 .notificationStatus(notificationStatus)
                 .count(1)
                 .build();
     }
 
+    // topic 전송 1건을 수신자 수와 관계없이 로그 1건으로 기록한다.
+    public static NotificationLog broadcast(Long id, String notificationId, String topic, String payloadHash) {
+        return NotificationLog.builder()
+                .id(id)
+                .notificationId(notificationId)
+                .topic(topic)
+                .payloadHash(payloadHash)
+                .notificationStatus(NotificationStatus.READY)
+                .count(1)
+                .build();
+    }
+
+    // 재시도 큐 등 영속성 컨텍스트 밖에서 보관하던 로그 상태를 다시 만든다.
+    public static NotificationLog restore(Long id, String notificationId, Long userNotificationTokenId,
+                                          MessagingErrorCode errorCode, NotificationStatus notificationStatus,
+                                          Integer count) {
+        return NotificationLog.builder()
+                .id(id)
+                .notificationId(notificationId)
+                .userNotificationTokenId(userNotificationTokenId)
+                .errorCode(errorCode)
+                .notificationStatus(notificationStatus)
+                .count(count)
+                .build();
+    }
+
     public void markSuccess() {
         this.notificationStatus = NotificationStatus.SUCCESS;
     }
@@ -0,0 +1,54 @@
+package com.example.fcmretryplayground.domain.notification;
+
+/**
+ * 시간 순으로 증가하는 NotificationLog ID 생성기.
+ * IDENTITY 전략은 INSERT 를 실행해야 ID 를 알 수 있어 JDBC 배치가 불가능하므로, 애플리케이션에서 ID 를 미리 할당한다.
+ * 구성 : 41bit 타임스탬프(ms) | 10bit 노드 번호 | 12bit 시퀀스
+ * 노드 번호는 NotificationLogIdConfig 가 정한다.
+ */
+public class NotificationLogIdGenerator {
+
+    // 2025-01-01T00:00:00Z
+    private static final long EPOCH_MILLIS = 1735689600000L;
+    private static final int NODE_ID_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_ID_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    public NotificationLogIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public synchronized long nextId() {
+        // 시계가 뒤로 가더라도 마지막 타임스탬프를 기준으로 계속 증가시킨다.
+        long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // 같은 ms 안에서 시퀀스를 모두 사용하면 대기하지 않고 다음 ms 를 미리 사용한다.
+                timestamp++;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH_MILLIS) << (NODE_ID_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    /**
+     * epochMillis 시각에 생성될 수 있는 가장 작은 ID.
+     * ID 가 시간 순으로 증가하므로, 생성 시각 기준 조회를 ID 범위 조건으로 대신할 수 있다.
+     */
+    public static long minIdAt(long epochMillis) {
+        return Math.max(epochMillis - EPOCH_MILLIS, 0) << (NODE_ID_BITS + SEQUENCE_BITS);
+    }
+}
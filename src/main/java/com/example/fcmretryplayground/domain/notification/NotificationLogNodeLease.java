@@ -0,0 +1,94 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import com.example.fcmretryplayground.config.NotificationLogWriterProperties;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * 여러 노드가 같은 NotificationLog ID 노드 번호를 사용하지 않도록 노드 번호를 Redis 에 점유한다.
+ * 시작 시 다른 인스턴스가 점유 중이면 실패하고, 실행 중에는 nodeLeaseRenewInterval 마다 점유를 갱신한다.
+ * 노드가 비정상 종료되면 nodeLeaseTtl 이 지난 뒤 같은 노드 번호로 다시 시작할 수 있다.
+ */
+@Slf4j
+public class NotificationLogNodeLease {
+
+    private static final String KEY_PREFIX = "notification:log:node:";
+
+    // 점유가 만료되어 사라졌으면 다시 점유한다. 다른 인스턴스가 점유 중이면 0 을 반환한다.
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of("""
+            local owner = redis.call('GET', KEYS[1])
+            if owner == ARGV[1] then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                return 1
+            elseif not owner then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationLogWriterProperties properties;
+    private final String key;
+    private final String owner = UUID.randomUUID().toString();
+
+    public NotificationLogNodeLease(StringRedisTemplate redisTemplate, NotificationLogWriterProperties properties) {
+        if (properties.nodeId() == null) {
+            throw new IllegalStateException(
+                    "notification.log.writer.node-id must be set per instance when nodes share Redis");
+        }
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.key = KEY_PREFIX + properties.nodeId();
+    }
+
+    public int nodeId() {
+        return properties.nodeId();
+    }
+
+    public void acquire() {
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, owner, properties.nodeLeaseTtl());
+        if (!Boolean.TRUE.equals(acquired)) {
+            throw new IllegalStateException("notification.log.writer.node-id " + properties.nodeId()
+                    + " is already in use by another instance");
+        }
+        log.info("NotificationLog 노드 번호 점유 - nodeId: {}", properties.nodeId());
+    }
+
+    // 실행 중에는 노드 번호를 바꿀 수 없으므로 다른 인스턴스가 점유한 경우 기록만 한다.
+    @Scheduled(fixedDelayString = "${notification.log.writer.node-lease-renew-interval:10s}")
+    public void renew() {
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(key), owner,
+                    String.valueOf(properties.nodeLeaseTtl().toMillis()));
+            if (renewed == null || renewed == 0) {
+                log.error("NotificationLog 노드 번호를 다른 인스턴스가 점유 중 - nodeId: {}, ID 가 중복될 수 있음",
+                        properties.nodeId());
+            }
+        } catch (DataAccessException e) {
+            log.warn("NotificationLog 노드 번호 점유 갱신 실패 - nodeId: {}, {}", properties.nodeId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key), owner);
+        } catch (DataAccessException e) {
+            log.warn("NotificationLog 노드 번호 점유 해제 실패 - nodeId: {}, {}", properties.nodeId(), e.getMessage());
+        }
+    }
+}
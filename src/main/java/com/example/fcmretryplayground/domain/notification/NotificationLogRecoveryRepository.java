@@ -0,0 +1,74 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 복구 대상 NotificationLog 를 선점한다.
+ * (NOTIFICATION_STATUS, ERROR_CODE, NOTIFICATION_LOG_ID) 인덱스 범위를 ID 키셋으로 조회하고,
+ * FOR UPDATE SKIP LOCKED 로 다른 노드가 잠근 row 는 건너뛰어 여러 노드가 동시에 복구할 수 있다.
+ * 잠금은 선점 트랜잭션이 끝나면 풀리므로, CLAIMED_AT 을 기록해 선점 유지 시간 동안 다른 노드가 다시 조회하지 않도록 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationLogRecoveryRepository {
+
+    private static final String CLAIM_SQL = """
+            SELECT NOTIFICATION_LOG_ID, NOTIFICATION_ID, USER_NOTIFICATION_TOKEN_ID, TOPIC, PAYLOAD_HASH, ERROR_CODE, NOTIFICATION_STATUS, COUNT
+            FROM notification_log
+            WHERE NOTIFICATION_STATUS = :status
+              AND ERROR_CODE <=> :errorCode
+              AND NOTIFICATION_LOG_ID > :afterId
+              AND NOTIFICATION_LOG_ID < :beforeId
+              AND COUNT < :maxCount
+              AND (CLAIMED_AT IS NULL OR CLAIMED_AT < :leaseExpiredAt)
+            ORDER BY NOTIFICATION_LOG_ID
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String MARK_CLAIMED_SQL = """
+            UPDATE notification_log
+            SET CLAIMED_AT = :claimedAt
+            WHERE NOTIFICATION_LOG_ID IN (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<RecoverableNotificationLog> claim(NotificationStatus status, MessagingErrorCode errorCode,
+                                                  long afterId, long beforeId, int maxCount,
+                                                  LocalDateTime now, LocalDateTime leaseExpiredAt, int limit) {
+        List<RecoverableNotificationLog> notificationLogs = jdbcTemplate.query(CLAIM_SQL, new MapSqlParameterSource()
+                        .addValue("status", status.name())
+                        .addValue("errorCode", errorCode == null ? null : errorCode.name())
+                        .addValue("afterId", afterId)
+                        .addValue("beforeId", beforeId)
+                        .addValue("maxCount", maxCount)
+                        .addValue("leaseExpiredAt", leaseExpiredAt)
+                        .addValue("limit", limit),
+                (rs, rowNum) -> new RecoverableNotificationLog(
+                        rs.getLong("NOTIFICATION_LOG_ID"),
+                        rs.getString("NOTIFICATION_ID"),
+                        rs.getObject("USER_NOTIFICATION_TOKEN_ID", Long.class),
+                        rs.getString("TOPIC"),
+                        rs.getString("PAYLOAD_HASH"),
+                        rs.getString("ERROR_CODE") == null ? null : MessagingErrorCode.valueOf(rs.getString("ERROR_CODE")),
+                        NotificationStatus.valueOf(rs.getString("NOTIFICATION_STATUS")),
+                        rs.getInt("COUNT")));
+
+        if (!notificationLogs.isEmpty()) {
+            jdbcTemplate.update(MARK_CLAIMED_SQL, new MapSqlParameterSource()
+                    .addValue("claimedAt", now)
+                    .addValue("ids", notificationLogs.stream().map(RecoverableNotificationLog::id).toList()));
+        }
+        return notificationLogs;
+    }
+}
@@ -1,43 +1,77 @@
 package com.example.fcmretryplayground.domain.notification;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationLogService {
 
-    private final NotificationLogRepository notificationLogRepository;
-    private final ObjectMapper mapper;
+    private final NotificationLogWriter notificationLogWriter;
+    private final NotificationLogIdGenerator notificationLogIdGenerator;
+    private final NotificationPayloadStore notificationPayloadStore;
 
-    @SneakyThrows
-    @Transactional
-    public NotificationLog recordReadyNotificationLog(DeviceFcmToken deviceFcmToken, Message message){
-        NotificationLog notificationLog = NotificationLog.record(
-                deviceFcmToken.getId(), serializeMessage(message), null, NotificationStatus.READY);
-        return notificationLogRepository.save(notificationLog);
+    public NotificationLog recordReadyNotificationLog(DeviceFcmTokenView deviceFcmToken, NotificationContent content,
+                                                      String notificationId){
+        return recordReadyNotificationLogs(List.of(deviceFcmToken), content, notificationId).get(0);
     }
 
-    @Transactional
+    /**
+     * READY 로그를 JDBC 배치 INSERT 로 기록한다. 반환되는 로그의 순서는 전달한 토큰 순서와 같다.
+     * 모든 로그는 한 번 저장한 payload 의 해시와 토큰 ID 만 기록한다.
+     */
+    public List<NotificationLog> recordReadyNotificationLogs(List<DeviceFcmTokenView> deviceFcmTokens,
+                                                             NotificationContent content, String notificationId) {
+        String payloadHash = notificationPayloadStore.save(content);
+        List<NotificationLog> notificationLogs = new ArrayList<>(deviceFcmTokens.size());
+        for (DeviceFcmTokenView deviceFcmToken : deviceFcmTokens) {
+            notificationLogs.add(NotificationLog.record(notificationLogIdGenerator.nextId(), notificationId,
+                    deviceFcmToken.id(), payloadHash, null, NotificationStatus.READY));
+        }
+        notificationLogWriter.insertReady(notificationLogs);
+        return notificationLogs;
+    }
+
+    public NotificationLog recordReadyBroadcastLog(String topic, NotificationContent content, String notificationId) {
+        NotificationLog notificationLog = NotificationLog.broadcast(notificationLogIdGenerator.nextId(), notificationId,
+                topic, notificationPayloadStore.save(content));
+        notificationLogWriter.insertReady(List.of(notificationLog));
+        return notificationLog;
+    }
+
+    public void markSuccess(NotificationLog notificationLog) {
+        notificationLog.markSuccess();
+        notificationLogWriter.enqueue(notificationLog);
+    }
+
+    public void markFail(NotificationLog notificationLog, MessagingErrorCode code) {
+        notificationLog.markFail(code);
+        notificationLogWriter.enqueue(notificationLog);
+    }
+
+    /**
+     * 재시도를 모두 소진한 로그를 FAIL 로 기록한다.
+     * 같은 로그의 다른 상태 변경과 같이 NotificationLogWriter 를 거쳐 반영하므로 STATUS / COUNT 를 따로 UPDATE 하며 경합하지 않는다.
+     * 마지막 실패에서 이미 FAIL 로 바꾸고 COUNT 를 늘렸다면 다시 늘리지 않는다.
+     */
     public void recordNotificationLog(RecordNotificationLogCommand command) {
-        try {
-            NotificationLog notificationLog = notificationLogRepository.findById(command.notificationLogId())
-                    .orElseThrow(RuntimeException::new);
+        NotificationLog notificationLog = command.notificationLog();
+        if (notificationLog.getNotificationStatus() != NotificationStatus.FAIL) {
             notificationLog.markFail(command.code());
-            log.info("Notification Log 기록 성공: {}", notificationLog.getId());
-        } catch (Exception e) {
-            log.error("Notification Log 기록 실패 : {}", e.getMessage());
         }
+        notificationLogWriter.enqueue(notificationLog);
+        log.info("Notification Log 재시도 소진: {}", notificationLog.getId());
     }
 
-    private String serializeMessage(Message message) throws JsonProcessingException {
-        return mapper.writeValueAsString(message);
+    // 복구 대상 로그가 참조하는 payload 를 해시별로 한 번에 조회한다.
+    public Map<String, NotificationContent> findContents(Collection<String> payloadHashes) {
+        return notificationPayloadStore.findAll(payloadHashes);
     }
 }
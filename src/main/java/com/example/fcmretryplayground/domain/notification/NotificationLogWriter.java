@@ -0,0 +1,126 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import com.example.fcmretryplayground.config.NotificationLogWriterProperties;
+import com.google.firebase.messaging.MessagingErrorCode;
+import jakarta.annotation.PreDestroy;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * NotificationLog 를 JDBC 배치로 기록한다.
+ * - READY 로그는 전송 전에 JDBC 배치 INSERT 로 즉시 기록한다.
+ * - SUCCESS / FAIL 상태 변경은 버퍼에 모았다가 flushSize 또는 flushInterval 마다 동일한 상태끼리 묶어 UPDATE 한다.
+ */
+@Component
+@Slf4j
+public class NotificationLogWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notification_log
+                (NOTIFICATION_LOG_ID, NOTIFICATION_ID, USER_NOTIFICATION_TOKEN_ID, TOPIC, PAYLOAD_HASH, ERROR_CODE,
+                 NOTIFICATION_STATUS, COUNT)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE notification_log
+            SET NOTIFICATION_STATUS = :status, ERROR_CODE = :errorCode, COUNT = :count
+            WHERE NOTIFICATION_LOG_ID IN (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationLogWriterProperties properties;
+
+    private final Object pendingLock = new Object();
+    // 같은 로그의 상태 변경은 마지막 상태만 반영한다.
+    private Map<Long, Transition> pendingTransitions = new LinkedHashMap<>();
+
+    public NotificationLogWriter(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 NotificationLogWriterProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+    }
+
+    public void insertReady(List<NotificationLog> notificationLogs) {
+        if (notificationLogs.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.getJdbcTemplate().batchUpdate(
+                INSERT_SQL, notificationLogs, properties.flushSize(), (ps, notificationLog) -> {
+                    ps.setLong(1, notificationLog.getId());
+                    ps.setString(2, notificationLog.getNotificationId());
+                    ps.setObject(3, notificationLog.getUserNotificationTokenId(), Types.BIGINT);
+                    ps.setString(4, notificationLog.getTopic());
+                    ps.setString(5, notificationLog.getPayloadHash());
+                    ps.setString(6, notificationLog.getErrorCode() == null ? null : notificationLog.getErrorCode().name());
+                    ps.setString(7, notificationLog.getNotificationStatus().name());
+                    ps.setInt(8, notificationLog.getCount());
+                }));
+    }
+
+    public void enqueue(NotificationLog notificationLog) {
+        int pendingSize;
+        synchronized (pendingLock) {
+            pendingTransitions.put(notificationLog.getId(), new Transition(
+                    notificationLog.getNotificationStatus(), notificationLog.getErrorCode(), notificationLog.getCount()));
+            pendingSize = pendingTransitions.size();
+        }
+        if (pendingSize >= properties.flushSize()) {
+            flush();
+        }
+    }
+
+    // 이전 flush 보다 나중 상태가 먼저 반영되지 않도록 flush 는 한 번에 하나만 수행한다.
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${notification.log.writer.flush-interval:1s}")
+    public synchronized void flush() {
+        Map<Long, Transition> transitions;
+        synchronized (pendingLock) {
+            if (pendingTransitions.isEmpty()) {
+                return;
+            }
+            transitions = pendingTransitions;
+            pendingTransitions = new LinkedHashMap<>();
+        }
+
+        Map<Transition, List<Long>> idsByTransition = transitions.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue, LinkedHashMap::new,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        try {
+            transactionTemplate.executeWithoutResult(status -> idsByTransition.forEach(this::update));
+        } catch (Exception e) {
+            log.error("Notification Log flush 실패 : {}", e.getMessage());
+            synchronized (pendingLock) {
+                // 실패한 상태 변경은 다음 flush 에서 다시 시도하되, 그 사이 들어온 최신 상태를 덮어쓰지 않는다.
+                transitions.forEach(pendingTransitions::putIfAbsent);
+            }
+        }
+    }
+
+    private void update(Transition transition, List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += properties.flushSize()) {
+            jdbcTemplate.update(UPDATE_SQL, new MapSqlParameterSource()
+                    .addValue("status", transition.status().name())
+                    .addValue("errorCode", transition.errorCode() == null ? null : transition.errorCode().name())
+                    .addValue("count", transition.count())
+                    .addValue("ids", ids.subList(from, Math.min(from + properties.flushSize(), ids.size()))));
+        }
+    }
+
+    private record Transition(NotificationStatus status, MessagingErrorCode errorCode, Integer count) {
+    }
+}
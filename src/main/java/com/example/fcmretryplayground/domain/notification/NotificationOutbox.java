@@ -0,0 +1,51 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 발행된 NotificationCommand 를 전송 전까지 보관하는 outbox.
+ * 발행한 트랜잭션과 함께 커밋되고, relay 가 전송을 마치면 삭제한다. (JDBC 로만 읽고 쓰며, 엔티티는 스키마 정의용이다)
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "NOTIFICATION_OUTBOX")
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "OUTBOX_ID")
+    private Long id;
+
+    @Column(name = "NOTIFICATION_ID", nullable = false, length = 64)
+    private String notificationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "NOTIFICATION_TYPE", nullable = false)
+    private NotificationType type;
+
+    @Column(name = "SENDER_ID")
+    private Long senderId;
+
+    // 수신자 ID 를 쉼표로 구분해 저장한다.
+    @Column(name = "RECIPIENT_IDS", nullable = false, columnDefinition = "LONGTEXT")
+    private String recipientIds;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "CLAIMED_AT")
+    private LocalDateTime claimedAt;
+}
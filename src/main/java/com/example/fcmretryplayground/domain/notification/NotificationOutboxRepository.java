@@ -0,0 +1,95 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import com.example.fcmretryplayground.domain.notification.handler.NotificationCommand;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import com.example.fcmretryplayground.domain.notification.handler.RecipientIds;
+import com.example.fcmretryplayground.domain.notification.handler.Sender;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * NOTIFICATION_OUTBOX 를 JDBC 로 기록 / 선점 / 삭제한다.
+ * 선점은 복구 스케줄러와 같이 FOR UPDATE SKIP LOCKED 로 수행하고 CLAIMED_AT 으로 선점 유지 시간 동안 다른 노드가 조회하지 않도록 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationOutboxRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notification_outbox (NOTIFICATION_ID, NOTIFICATION_TYPE, SENDER_ID, RECIPIENT_IDS, CREATED_AT)
+            VALUES (:notificationId, :type, :senderId, :recipientIds, :createdAt)
+            """;
+
+    private static final String CLAIM_SQL = """
+            SELECT OUTBOX_ID, NOTIFICATION_ID, NOTIFICATION_TYPE, SENDER_ID, RECIPIENT_IDS
+            FROM notification_outbox
+            WHERE OUTBOX_ID > :afterId
+              AND (CLAIMED_AT IS NULL OR CLAIMED_AT < :leaseExpiredAt)
+            ORDER BY OUTBOX_ID
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String MARK_CLAIMED_SQL = """
+            UPDATE notification_outbox
+            SET CLAIMED_AT = :claimedAt
+            WHERE OUTBOX_ID IN (:ids)
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM notification_outbox WHERE OUTBOX_ID IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // 호출한 트랜잭션에 참여하므로, 발행한 트랜잭션이 롤백되면 outbox 도 함께 롤백된다.
+    public void append(NotificationCommand command) {
+        jdbcTemplate.update(INSERT_SQL, new MapSqlParameterSource()
+                .addValue("notificationId", command.notificationId())
+                .addValue("type", command.type().name())
+                .addValue("senderId", command.sender() == null ? null : command.sender().getId())
+                .addValue("recipientIds", RecipientIds.join(command.recipients()))
+                .addValue("createdAt", LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<ClaimedNotificationOutbox> claim(long afterId, LocalDateTime now, LocalDateTime leaseExpiredAt,
+                                                 int limit) {
+        List<ClaimedNotificationOutbox> outboxes = jdbcTemplate.query(CLAIM_SQL, new MapSqlParameterSource()
+                        .addValue("afterId", afterId)
+                        .addValue("leaseExpiredAt", leaseExpiredAt)
+                        .addValue("limit", limit),
+                (rs, rowNum) -> {
+                    long senderId = rs.getLong("SENDER_ID");
+                    Sender sender = rs.wasNull() ? null : new Sender(senderId, null);
+                    return new ClaimedNotificationOutbox(rs.getLong("OUTBOX_ID"), new NotificationCommand(
+                            sender,
+                            RecipientIds.split(rs.getString("RECIPIENT_IDS")),
+                            NotificationType.valueOf(rs.getString("NOTIFICATION_TYPE")),
+                            rs.getString("NOTIFICATION_ID")));
+                });
+
+        if (!outboxes.isEmpty()) {
+            jdbcTemplate.update(MARK_CLAIMED_SQL, new MapSqlParameterSource()
+                    .addValue("claimedAt", now)
+                    .addValue("ids", outboxes.stream().map(ClaimedNotificationOutbox::id).toList()));
+        }
+        return outboxes;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void delete(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", ids));
+    }
+
+    public record ClaimedNotificationOutbox(Long id, NotificationCommand command) {
+    }
+}
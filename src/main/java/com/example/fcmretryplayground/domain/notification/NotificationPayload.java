@@ -0,0 +1,52 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 알림 제목과 본문을 내용 해시(SHA-256) 기준으로 한 번만 저장한다.
+ * 같은 NotificationCommand 의 수신자들은 모두 같은 payload 를 참조하고, NotificationLog 에는 해시만 기록한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "NOTIFICATION_PAYLOAD")
+public class NotificationPayload {
+
+    // 구분자(\0)를 넣어 ("ab", "c") 와 ("a", "bc") 의 해시가 같아지지 않도록 한다.
+    private static final char FIELD_SEPARATOR = '\0';
+
+    @Id
+    @Column(name = "PAYLOAD_HASH", length = 64, nullable = false)
+    private String hash;
+
+    @Column(name = "TITLE")
+    private String title;
+
+    @Column(name = "BODY", length = 2000)
+    private String body;
+
+    public static String hashOf(NotificationContent content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((nullToEmpty(content.title()) + FIELD_SEPARATOR + nullToEmpty(content.body()))
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * NOTIFICATION_PAYLOAD 를 JDBC 로 저장 / 조회한다.
+ * payload 는 해시가 같으면 내용도 같아 변경되지 않으므로, 저장했거나 조회한 payload 를 메모리에 보관해
+ * 같은 내용의 알림을 보낼 때 INSERT 와 조회를 생략한다.
+ * READY 로그와 마찬가지로 별도 트랜잭션에서 저장해, 호출한 트랜잭션이 롤백되어도 로그가 참조하는 payload 가 남도록 한다.
+ */
+@Component
+public class NotificationPayloadStore {
+
+    // 캐시가 무한히 커지지 않도록 이 크기를 넘으면 비운다. (비워도 DB 에 남아 있으므로 다시 조회하면 된다)
+    private static final int MAX_CACHE_SIZE = 10_000;
+
+    private static final String INSERT_SQL = """
+            INSERT IGNORE INTO notification_payload (PAYLOAD_HASH, TITLE, BODY)
+            VALUES (:hash, :title, :body)
+            """;
+
+    private static final String SELECT_SQL = """
+            SELECT PAYLOAD_HASH, TITLE, BODY
+            FROM notification_payload
+            WHERE PAYLOAD_HASH IN (:hashes)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, NotificationContent> cache = new ConcurrentHashMap<>();
+
+    public NotificationPayloadStore(NamedParameterJdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * payload 를 저장하고 해시를 반환한다. 이미 저장된 내용이면 INSERT 하지 않는다.
+     */
+    public String save(NotificationContent content) {
+        String hash = NotificationPayload.hashOf(content);
+        if (cache.containsKey(hash)) {
+            return hash;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, new MapSqlParameterSource()
+                .addValue("hash", hash)
+                .addValue("title", content.title())
+                .addValue("body", content.body())));
+        cache(hash, content);
+        return hash;
+    }
+
+    public Map<String, NotificationContent> findAll(Collection<String> hashes) {
+        Map<String, NotificationContent> contents = new HashMap<>();
+        List<String> missing = hashes.stream()
+                .distinct()
+                .filter(hash -> {
+                    NotificationContent content = cache.get(hash);
+                    if (content == null) {
+                        return true;
+                    }
+                    contents.put(hash, content);
+                    return false;
+                })
+                .toList();
+        if (missing.isEmpty()) {
+            return contents;
+        }
+        jdbcTemplate.query(SELECT_SQL, new MapSqlParameterSource("hashes", missing), rs -> {
+            NotificationContent content = new NotificationContent(rs.getString("TITLE"), rs.getString("BODY"));
+            contents.put(rs.getString("PAYLOAD_HASH"), content);
+            cache(rs.getString("PAYLOAD_HASH"), content);
+        });
+        return contents;
+    }
+
+    private void cache(String hash, NotificationContent content) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(hash, content);
+    }
+}
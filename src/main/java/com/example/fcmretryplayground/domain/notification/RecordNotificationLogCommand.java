@@ -2,5 +2,5 @@ package com.example.fcmretryplayground.domain.notification;
 
 import com.google.firebase.messaging.MessagingErrorCode;
 
-public record RecordNotificationLogCommand(Long notificationLogId, MessagingErrorCode code) {
+public record RecordNotificationLogCommand(NotificationLog notificationLog, MessagingErrorCode code) {
 }
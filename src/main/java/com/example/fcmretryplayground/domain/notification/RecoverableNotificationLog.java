@@ -0,0 +1,20 @@
+package com.example.fcmretryplayground.domain.notification;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+
+// 복구 스케줄러가 선점한 재전송 대상 로그
+public record RecoverableNotificationLog(
+        Long id,
+        String notificationId,
+        Long userNotificationTokenId,
+        String topic,
+        String payloadHash,
+        MessagingErrorCode errorCode,
+        NotificationStatus notificationStatus,
+        Integer count
+) {
+
+    public NotificationLog toNotificationLog() {
+        return NotificationLog.restore(id, notificationId, userNotificationTokenId, errorCode, notificationStatus, count);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.fcmretryplayground.domain.notification;
+
+// 사용자별로 발송 대상 토큰을 캐시하기 위해 USER_ID 를 함께 조회하는 프로젝션
+public record UserDeviceFcmTokenView(Long userId, Long id, String fcmToken, DeviceType deviceType,
+                                     Boolean notificationOptIn) {
+
+    public DeviceFcmTokenView toView() {
+        return new DeviceFcmTokenView(id, fcmToken, deviceType, notificationOptIn);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.fcmretryplayground.domain.notification.event;
+
+import java.util.Collection;
+
+/**
+ * 전송 대상 토큰 집합의 변경. 커밋 후 topic 구독에 반영한다.
+ * subscribedFcmTokens 는 전송 대상이 된 토큰(등록, 수신 동의, 토큰 갱신), unsubscribedFcmTokens 는 전송 대상에서 빠진 토큰이다.
+ */
+public record DeviceFcmTokenChangedEvent(
+        Collection<String> subscribedFcmTokens,
+        Collection<String> unsubscribedFcmTokens
+) {
+}
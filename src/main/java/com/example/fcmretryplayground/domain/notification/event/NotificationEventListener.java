@@ -1,21 +1,24 @@
 package com.example.fcmretryplayground.domain.notification.event;
 
-import com.example.fcmretryplayground.application.notification.NotificationService;
+import com.example.fcmretryplayground.application.notification.NotificationDispatcher;
+import com.example.fcmretryplayground.application.notification.NotificationLanes;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationCommand;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class NotificationEventListener {
 
-    private final NotificationService notificationService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationLanes notificationLanes;
 
-    @Async
+    // NotificationType 우선순위별 실행기에서 비동기로 전송한다.
     @EventListener
     public void execute(NotificationEvent event) {
-        notificationService.send(event.getNotificationCommand());
+        NotificationCommand command = event.getNotificationCommand();
+        notificationLanes.executorFor(command.type()).execute(() -> notificationDispatcher.dispatch(command));
     }
 
 }
@@ -1,10 +1,12 @@
 package com.example.fcmretryplayground.domain.notification.event;
 
+import com.example.fcmretryplayground.application.notification.outbox.NotificationOutboxNotifier;
+import com.example.fcmretryplayground.config.NotificationOutboxProperties;
+import com.example.fcmretryplayground.domain.notification.NotificationOutboxRepository;
 import com.example.fcmretryplayground.domain.notification.handler.NotificationCommand;
-import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
-import com.example.fcmretryplayground.domain.notification.handler.NotificationHandler;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationHandlerRegistry;
 import com.example.fcmretryplayground.domain.notification.handler.NotificationPayload;
-import java.util.List;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
@@ -13,19 +15,21 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class NotificationEventPublisher {
     private final ApplicationEventPublisher eventPublisher;
-    private final List<NotificationHandler<?>> handlers;
+    private final NotificationHandlerRegistry handlerRegistry;
+    private final NotificationOutboxProperties outboxProperties;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationOutboxNotifier outboxNotifier;
 
+    /**
+     * outbox 모드에서는 호출한 트랜잭션 안에서 outbox 를 기록하고, relay 가 커밋된 outbox 를 전송한다.
+     */
     public void publishNotification(NotificationType type, Object payload) {
-        NotificationHandler<?> notificationHandler = handlers.stream()
-                .filter(handler -> handler.supports(type, payload))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Not Found Handler type : " + type + ", payload: " + payload));
-
-        @SuppressWarnings("unchecked")
-        NotificationHandler<NotificationPayload> typedHandler = (NotificationHandler<NotificationPayload>) notificationHandler;
-
-        NotificationCommand command = typedHandler.handle(type, (NotificationPayload) payload);
+        NotificationCommand command = handlerRegistry.get(type, payload).handle(type, (NotificationPayload) payload);
+        if (outboxProperties.enabled()) {
+            outboxRepository.append(command);
+            outboxNotifier.notifyInserted();
+            return;
+        }
         eventPublisher.publishEvent(new NotificationEvent(this, command));
     }
 }
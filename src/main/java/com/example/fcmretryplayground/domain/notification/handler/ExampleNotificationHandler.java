@@ -1,23 +1,23 @@
 package com.example.fcmretryplayground.domain.notification.handler;
 
-import java.util.List;
+import java.util.Set;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ExampleNotificationHandler implements NotificationHandler<ExamplePayload> {
 
-    private final List<NotificationType> types = List.of(NotificationType.EXAMPLE_ALARM);
+    @Override
+    public Set<NotificationType> types() {
+        return Set.of(NotificationType.EXAMPLE_ALARM, NotificationType.ANNOUNCEMENT, NotificationType.SECURITY_ALERT);
+    }
 
     @Override
-    public boolean supports(NotificationType type, Object payload) {
-        if (types.contains(type) && payload instanceof ExamplePayload) {
-            return true;
-        }
-        return false;
+    public Class<ExamplePayload> payloadType() {
+        return ExamplePayload.class;
     }
 
     @Override
     public NotificationCommand handle(NotificationType type, ExamplePayload payload) {
-        return new NotificationCommand(payload.sender(), payload.recipients(), type);
+        return new NotificationCommand(payload.sender(), payload.recipients(), type, payload.notificationId());
     }
 }
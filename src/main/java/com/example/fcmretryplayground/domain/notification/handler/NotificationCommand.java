@@ -1,10 +1,26 @@
 package com.example.fcmretryplayground.domain.notification.handler;
 
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * notificationId 는 같은 알림의 중복 발행, 재시도, 복구를 구분하는 멱등 키이며 FCM collapse key 로도 사용한다.
+ * 지정하지 않으면 발행마다 새로 생성한다.
+ */
 public record NotificationCommand(
         Sender sender,
         List<Recipient> recipients,
-        NotificationType type
+        NotificationType type,
+        String notificationId
 ) {
+
+    public NotificationCommand {
+        if (notificationId == null || notificationId.isBlank()) {
+            notificationId = UUID.randomUUID().toString();
+        }
+    }
+
+    public NotificationCommand(Sender sender, List<Recipient> recipients, NotificationType type) {
+        this(sender, recipients, type, null);
+    }
 }
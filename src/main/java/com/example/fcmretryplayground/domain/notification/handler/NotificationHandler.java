@@ -1,6 +1,11 @@
 package com.example.fcmretryplayground.domain.notification.handler;
 
+import java.util.Set;
+
 public interface NotificationHandler<P extends NotificationPayload> {
-    boolean supports(NotificationType type, Object payload);
+    // 처리하는 알림 종류
+    Set<NotificationType> types();
+    // 처리하는 payload 의 구체 타입 (발행 시 payload.getClass() 와 정확히 일치해야 한다)
+    Class<P> payloadType();
     NotificationCommand handle(NotificationType type, P payload);
 }
@@ -0,0 +1,51 @@
+package com.example.fcmretryplayground.domain.notification.handler;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * NotificationHandler 를 (NotificationType, payload 타입) 기준으로 시작 시점에 등록한다.
+ * 같은 (종류, payload 타입) 에 핸들러가 둘 이상이거나 핸들러가 없는 NotificationType 이 있으면 애플리케이션 시작에 실패한다.
+ * 발행 시에는 EnumMap 과 payload 클래스 Map 조회만 수행한다.
+ */
+@Component
+public class NotificationHandlerRegistry {
+
+    private final Map<NotificationType, Map<Class<?>, NotificationHandler<?>>> handlers =
+            new EnumMap<>(NotificationType.class);
+
+    public NotificationHandlerRegistry(List<NotificationHandler<?>> notificationHandlers) {
+        for (NotificationHandler<?> handler : notificationHandlers) {
+            for (NotificationType type : handler.types()) {
+                NotificationHandler<?> duplicated = handlers.computeIfAbsent(type, key -> new HashMap<>())
+                        .putIfAbsent(handler.payloadType(), handler);
+                if (duplicated != null) {
+                    throw new IllegalStateException("Duplicated Handler type : " + type
+                            + ", payload: " + handler.payloadType().getSimpleName()
+                            + ", handlers: " + duplicated.getClass().getSimpleName()
+                            + ", " + handler.getClass().getSimpleName());
+                }
+            }
+        }
+
+        List<NotificationType> missingTypes = Arrays.stream(NotificationType.values())
+                .filter(type -> !handlers.containsKey(type))
+                .toList();
+        if (!missingTypes.isEmpty()) {
+            throw new IllegalStateException("Not Found Handler types : " + missingTypes);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public NotificationHandler<NotificationPayload> get(NotificationType type, Object payload) {
+        NotificationHandler<?> handler = payload == null ? null : handlers.get(type).get(payload.getClass());
+        if (handler == null) {
+            throw new IllegalArgumentException("Not Found Handler type : " + type + ", payload: " + payload);
+        }
+        return (NotificationHandler<NotificationPayload>) handler;
+    }
+}
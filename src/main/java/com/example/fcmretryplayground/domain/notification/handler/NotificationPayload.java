@@ -5,4 +5,9 @@ import java.util.List;
 public interface NotificationPayload {
     Sender sender();
     List<Recipient> recipients();
+
+    // 같은 알림을 여러 번 발행할 수 있는 경우 발행하는 쪽에서 고정된 ID 를 지정한다. (null 이면 발행마다 새로 생성)
+    default String notificationId() {
+        return null;
+    }
 }
@@ -0,0 +1,12 @@
+package com.example.fcmretryplayground.domain.notification.handler;
+
+/**
+ * 알림 전송 우선순위.
+ * HIGH 알림은 별도 실행기와 예약된 FCM 전송 허용량을 사용하므로 대량 발송 중에도 뒤로 밀리지 않는다.
+ */
+public enum NotificationPriority {
+    // 로그인 인증 번호, 결제 등 즉시 전달되어야 하는 알림
+    HIGH,
+    // 마케팅, 공지 등 일반 알림
+    NORMAL
+}
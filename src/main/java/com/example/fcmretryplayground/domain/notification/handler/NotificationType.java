@@ -1,16 +1,41 @@
 package com.example.fcmretryplayground.domain.notification.handler;
 
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.Getter;
 
 @Getter
 public enum NotificationType {
-    EXAMPLE_ALARM("제목 예시", "메시지 예시");
+    EXAMPLE_ALARM("제목 예시", "메시지 예시", null, NotificationPriority.NORMAL),
+    // 전체 사용자 공지는 토큰별로 보내지 않고 FCM topic 으로 한 번에 보낸다.
+    ANNOUNCEMENT("공지 예시", "공지 메시지 예시", "all-users", NotificationPriority.NORMAL),
+    // 대량 발송과 관계없이 바로 전달되어야 하는 알림
+    SECURITY_ALERT("보안 알림 예시", "새 기기에서 로그인했습니다.", null, NotificationPriority.HIGH);
 
     private final String title;
     private final String message;
+    // FCM topic 이름, null 이면 수신자 토큰별로 전송한다.
+    private final String topic;
+    private final NotificationPriority priority;
 
-    NotificationType(String title, String message) {
+    NotificationType(String title, String message, String topic, NotificationPriority priority) {
         this.title = title;
         this.message = message;
+        this.topic = topic;
+        this.priority = priority;
+    }
+
+    public boolean isBroadcast() {
+        return topic != null;
+    }
+
+    // 전송 대상 토큰이 모두 구독해야 하는 topic 목록
+    public static Set<String> broadcastTopics() {
+        return Arrays.stream(values())
+                .map(NotificationType::getTopic)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
     }
 }
@@ -0,0 +1,36 @@
+package com.example.fcmretryplayground.domain.notification.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * outbox, Redis Stream 에 수신자를 ID 만 쉼표로 구분해 저장하기 위한 변환.
+ * 전송에는 수신자 ID 만 사용하므로 이름은 복원하지 않는다.
+ */
+public final class RecipientIds {
+
+    private RecipientIds() {
+    }
+
+    public static String join(List<Recipient> recipients) {
+        StringBuilder recipientIds = new StringBuilder(recipients.size() * 8);
+        for (Recipient recipient : recipients) {
+            if (!recipientIds.isEmpty()) {
+                recipientIds.append(',');
+            }
+            recipientIds.append(recipient.getId());
+        }
+        return recipientIds.toString();
+    }
+
+    public static List<Recipient> split(String recipientIds) {
+        List<Recipient> recipients = new ArrayList<>();
+        if (recipientIds == null || recipientIds.isEmpty()) {
+            return recipients;
+        }
+        for (String recipientId : recipientIds.split(",")) {
+            recipients.add(new Recipient(Long.parseLong(recipientId), null));
+        }
+        return recipients;
+    }
+}
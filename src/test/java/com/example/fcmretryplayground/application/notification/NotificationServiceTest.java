@@ -1,32 +1,60 @@
 package com.example.fcmretryplayground.application.notification;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.example.fcmretryplayground.common.RetryableAlarmException;
-import com.example.fcmretryplayground.domain.notification.DeviceFcmToken;
-import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenRepository;
+import com.example.fcmretryplayground.application.notification.circuitbreaker.FcmCircuitBreaker;
+import com.example.fcmretryplayground.application.notification.idempotency.InMemoryNotificationSendGuard;
+import com.example.fcmretryplayground.application.notification.metrics.NotificationMetrics;
+import com.example.fcmretryplayground.application.notification.ratelimit.UnlimitedFcmRateLimiter;
+import com.example.fcmretryplayground.application.notification.retry.NotificationRetryQueue;
+import com.example.fcmretryplayground.application.notification.retry.RetryQueueType;
+import com.example.fcmretryplayground.application.notification.retry.RetryTask;
+import com.example.fcmretryplayground.config.FcmCircuitBreakerProperties;
+import com.example.fcmretryplayground.config.NotificationSendGuardProperties;
+import com.example.fcmretryplayground.config.NotificationSendGuardProperties.GuardBackend;
+import com.example.fcmretryplayground.config.NotificationRetryProperties;
+import com.example.fcmretryplayground.config.NotificationSendProperties;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenCache;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenInvalidationBuffer;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView;
+import com.example.fcmretryplayground.domain.notification.DeviceType;
+import com.example.fcmretryplayground.domain.notification.NotificationContent;
 import com.example.fcmretryplayground.domain.notification.NotificationLog;
 import com.example.fcmretryplayground.domain.notification.NotificationLogService;
-import com.example.fcmretryplayground.domain.user.UserRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.example.fcmretryplayground.domain.notification.NotificationStatus;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import com.google.api.core.ApiFutures;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
 import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Description;
-import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -41,15 +69,27 @@ class NotificationServiceTest {
     @Autowired
     private NotificationLogService notificationLogService;
 
+    @Autowired
+    private DeviceFcmTokenInvalidationBuffer deviceFcmTokenInvalidationBuffer;
+
+    @Autowired
+    private NotificationRetryQueue notificationRetryQueue;
+
+    @BeforeEach
+    void setUp() {
+        reset(notificationLogService, deviceFcmTokenInvalidationBuffer, notificationRetryQueue);
+        // 실패 시 NotificationLog.count 가 증가해야 재시도 횟수를 판단할 수 있다.
+        doAnswer(invocation -> {
+            ((NotificationLog) invocation.getArgument(0)).markFail(invocation.getArgument(1));
+            return null;
+        }).when(notificationLogService).markFail(any(), any());
+    }
 
     @Test
-    @Description("첫 시도 실패 후 재시도 성공")
+    @Description("첫 시도 실패 후 재시도 큐를 통해 재전송 성공")
     void retryable_then_success() throws FirebaseMessagingException {
         //given
-        String mockFcmToken = "mockFcmToken";
-        DeviceFcmToken mockDeviceFcmToken = getDeviceFcmToken(mockFcmToken);
-        Message mockMessage = getMessage(mockFcmToken);
-        NotificationLog notificationLog = mock(NotificationLog.class);
+        NotificationDelivery delivery = getDelivery(1L, "mockFcmToken");
 
         FirebaseMessaging mockFirebaseMessaging = mock(FirebaseMessaging.class);
         FirebaseMessagingException mockMessagingException = getException(MessagingErrorCode.INTERNAL);
@@ -63,21 +103,24 @@ class NotificationServiceTest {
                     .thenThrow(mockMessagingException)
                     .thenReturn("ok");
 
-            notificationService.sendMessage(mockDeviceFcmToken, mockMessage, notificationLog);
+            notificationService.sendMessage(delivery);
+            RetryTask retryTask = captureRetryTask();
+            notificationService.retry(List.of(retryTask));
 
             //then
+            assertThat(retryTask.count()).isEqualTo(2);
+            assertThat(retryTask.dueAtMillis()).isGreaterThan(System.currentTimeMillis());
             verify(mockFirebaseMessaging, times(2)).send(any(Message.class));
+            verify(notificationLogService, times(1)).markSuccess(any());
+            verify(notificationLogService, never()).recordNotificationLog(any());
         }
     }
 
     @Test
     @Description("첫 시도, 재시도 모두 실패 후 복구 메서드 수행")
-    void retry_exhausted_then_recover() throws FirebaseMessagingException, JsonProcessingException {
+    void retry_exhausted_then_recover() throws FirebaseMessagingException {
         //given
-        String mockFcmToken = "mockFcmToken";
-        DeviceFcmToken mockDeviceFcmToken = getDeviceFcmToken(mockFcmToken);
-        Message mockMessage = getMessage(mockFcmToken);
-        NotificationLog notificationLog = mock(NotificationLog.class);
+        NotificationDelivery delivery = getDelivery(1L, "mockFcmToken");
 
         FirebaseMessagingException mockMessagingException = getException(MessagingErrorCode.INTERNAL);
         FirebaseMessaging mockFirebaseMessaging = mock(FirebaseMessaging.class);
@@ -94,25 +137,252 @@ class NotificationServiceTest {
                     .thenThrow(mockMessagingException);
 
             //then
-            notificationService.sendMessage(mockDeviceFcmToken, mockMessage, notificationLog);
+            notificationService.sendMessage(delivery);
+            notificationService.retry(List.of(captureRetryTask()));
 
             verify(mockFirebaseMessaging, times(2)).send(any(Message.class));
+            verify(notificationRetryQueue, times(1)).offer(any());
             verify(notificationLogService, times(1)).recordNotificationLog(any());
         }
     }
 
+    @Test
+    @Description("멀티캐스트 배치 응답을 토큰 순서대로 NotificationLog 에 매핑")
+    void multicast_maps_responses_to_logs() throws FirebaseMessagingException {
+        //given
+        DeviceFcmTokenView successToken = getDeviceFcmToken(1L, "successToken");
+        DeviceFcmTokenView unregisteredToken = getDeviceFcmToken(2L, "unregisteredToken");
+        NotificationLog successLog = getReadyLog(1L);
+        NotificationLog failLog = getReadyLog(2L);
+        when(notificationLogService.recordReadyNotificationLogs(any(), any(), any()))
+                .thenReturn(List.of(successLog, failLog));
+
+        SendResponse successResponse = mock(SendResponse.class);
+        when(successResponse.isSuccessful()).thenReturn(true);
+        SendResponse failResponse = mock(SendResponse.class);
+        FirebaseMessagingException unregistered = getException(MessagingErrorCode.UNREGISTERED);
+        when(failResponse.getException()).thenReturn(unregistered);
+        BatchResponse batchResponse = mock(BatchResponse.class);
+        when(batchResponse.getResponses()).thenReturn(List.of(successResponse, failResponse));
+
+        FirebaseMessaging mockFirebaseMessaging = mock(FirebaseMessaging.class);
+
+        //when
+        try (MockedStatic<FirebaseMessaging> firebaseMessagingMockedStatic = Mockito.mockStatic(
+                FirebaseMessaging.class)) {
+            firebaseMessagingMockedStatic.when(FirebaseMessaging::getInstance).thenReturn(mockFirebaseMessaging);
+            when(mockFirebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(batchResponse);
+
+            notificationService.sendMulticast(List.of(successToken, unregisteredToken), NotificationType.EXAMPLE_ALARM,
+                    successLog.getNotificationId());
+
+            //then
+            verify(mockFirebaseMessaging, times(1)).sendEachForMulticast(any(MulticastMessage.class));
+            verify(notificationLogService, times(1)).markSuccess(successLog);
+            verify(notificationLogService, times(1)).markFail(failLog, MessagingErrorCode.UNREGISTERED);
+            verify(deviceFcmTokenInvalidationBuffer, times(1)).add(2L);
+            verify(notificationRetryQueue, never()).offer(any());
+        }
+    }
+
+    @Test
+    @Description("오류 코드가 없는 실패 응답은 재시도하고, 나머지 응답도 모두 처리")
+    void batch_failure_without_error_code_is_retried() throws FirebaseMessagingException {
+        //given
+        DeviceFcmTokenView failToken = getDeviceFcmToken(6L, "failToken");
+        DeviceFcmTokenView successToken = getDeviceFcmToken(7L, "successToken");
+        NotificationLog failLog = getReadyLog(6L);
+        NotificationLog successLog = getReadyLog(7L, failLog.getNotificationId());
+        when(notificationLogService.recordReadyNotificationLogs(any(), any(), any()))
+                .thenReturn(List.of(failLog, successLog));
+
+        SendResponse failResponse = mock(SendResponse.class);
+        FirebaseMessagingException networkError = getException(null);
+        when(failResponse.getException()).thenReturn(networkError);
+        SendResponse successResponse = mock(SendResponse.class);
+        when(successResponse.isSuccessful()).thenReturn(true);
+        BatchResponse batchResponse = mock(BatchResponse.class);
+        when(batchResponse.getResponses()).thenReturn(List.of(failResponse, successResponse));
+
+        FirebaseMessaging mockFirebaseMessaging = mock(FirebaseMessaging.class);
+
+        //when
+        try (MockedStatic<FirebaseMessaging> firebaseMessagingMockedStatic = Mockito.mockStatic(
+                FirebaseMessaging.class)) {
+            firebaseMessagingMockedStatic.when(FirebaseMessaging::getInstance).thenReturn(mockFirebaseMessaging);
+            when(mockFirebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(batchResponse);
+
+            notificationService.sendMulticast(List.of(failToken, successToken), NotificationType.EXAMPLE_ALARM,
+                    failLog.getNotificationId());
+
+            //then
+            verify(notificationLogService, times(1)).markFail(failLog, null);
+            verify(notificationLogService, times(1)).markSuccess(successLog);
+            verify(notificationRetryQueue, times(1)).offer(any());
+            verify(deviceFcmTokenInvalidationBuffer, never()).add(any());
+        }
+    }
+
+    @Test
+    @Description("멀티캐스트 호출 자체가 실패하면 토큰을 무효화하지 않고 FAIL 로만 기록")
+    void multicast_call_failure_does_not_invalidate_tokens() throws FirebaseMessagingException {
+        //given
+        DeviceFcmTokenView firstToken = getDeviceFcmToken(8L, "firstToken");
+        DeviceFcmTokenView secondToken = getDeviceFcmToken(9L, "secondToken");
+        NotificationLog firstLog = getReadyLog(8L);
+        NotificationLog secondLog = getReadyLog(9L, firstLog.getNotificationId());
+        when(notificationLogService.recordReadyNotificationLogs(any(), any(), any()))
+                .thenReturn(List.of(firstLog, secondLog));
+
+        FirebaseMessagingException invalidArgument = getException(MessagingErrorCode.INVALID_ARGUMENT);
+        FirebaseMessaging mockFirebaseMessaging = mock(FirebaseMessaging.class);
+
+        //when
+        try (MockedStatic<FirebaseMessaging> firebaseMessagingMockedStatic = Mockito.mockStatic(
+                FirebaseMessaging.class)) {
+            firebaseMessagingMockedStatic.when(FirebaseMessaging::getInstance).thenReturn(mockFirebaseMessaging);
+            when(mockFirebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenThrow(invalidArgument);
+
+            notificationService.sendMulticast(List.of(firstToken, secondToken), NotificationType.EXAMPLE_ALARM,
+                    firstLog.getNotificationId());
+
+            //then
+            verify(notificationLogService, times(1)).markFail(firstLog, MessagingErrorCode.INVALID_ARGUMENT);
+            verify(notificationLogService, times(1)).markFail(secondLog, MessagingErrorCode.INVALID_ARGUMENT);
+            verify(deviceFcmTokenInvalidationBuffer, never()).add(any());
+            verify(notificationRetryQueue, never()).offer(any());
+        }
+    }
+
+    @Test
+    @Description("sendAsync 응답을 완료 콜백에서 토큰별 NotificationLog 에 매핑")
+    void pipelined_maps_async_results_to_logs() {
+        //given
+        DeviceFcmTokenView successToken = getDeviceFcmToken(4L, "successToken");
+        DeviceFcmTokenView unregisteredToken = getDeviceFcmToken(5L, "unregisteredToken");
+        NotificationLog successLog = getReadyLog(4L);
+        NotificationLog failLog = getReadyLog(5L, successLog.getNotificationId());
+        when(notificationLogService.recordReadyNotificationLogs(any(), any(), any()))
+                .thenReturn(List.of(successLog, failLog));
+
+        FirebaseMessagingException unregistered = getException(MessagingErrorCode.UNREGISTERED);
+        FirebaseMessaging mockFirebaseMessaging = mock(FirebaseMessaging.class);
+
+        //when
+        try (MockedStatic<FirebaseMessaging> firebaseMessagingMockedStatic = Mockito.mockStatic(
+                FirebaseMessaging.class)) {
+            firebaseMessagingMockedStatic.when(FirebaseMessaging::getInstance).thenReturn(mockFirebaseMessaging);
+            when(mockFirebaseMessaging.sendAsync(any(Message.class)))
+                    .thenReturn(ApiFutures.immediateFuture("ok"))
+                    .thenReturn(ApiFutures.immediateFailedFuture(unregistered));
+
+            notificationService.sendPipelined(List.of(successToken, unregisteredToken), NotificationType.EXAMPLE_ALARM,
+                    successLog.getNotificationId());
+
+            //then
+            verify(mockFirebaseMessaging, times(2)).sendAsync(any(Message.class));
+            verify(notificationLogService, times(1)).markSuccess(successLog);
+            verify(notificationLogService, times(1)).markFail(failLog, MessagingErrorCode.UNREGISTERED);
+            verify(deviceFcmTokenInvalidationBuffer, times(1)).add(5L);
+            verify(notificationRetryQueue, never()).offer(any());
+        }
+    }
+
+    @Test
+    @Description("같은 notificationId 가 중복 발행되면 토큰별로 한 번만 전송")
+    void duplicate_notification_sent_once() throws FirebaseMessagingException {
+        //given
+        String notificationId = UUID.randomUUID().toString();
+        DeviceFcmTokenView deviceFcmToken = getDeviceFcmToken(3L, "duplicateToken");
+        when(notificationLogService.recordReadyNotificationLogs(any(), any(), any()))
+                .thenReturn(List.of(getReadyLog(3L, notificationId)));
+
+        SendResponse successResponse = mock(SendResponse.class);
+        when(successResponse.isSuccessful()).thenReturn(true);
+        BatchResponse batchResponse = mock(BatchResponse.class);
+        when(batchResponse.getResponses()).thenReturn(List.of(successResponse));
+
+        FirebaseMessaging mockFirebaseMessaging = mock(FirebaseMessaging.class);
+
+        //when
+        try (MockedStatic<FirebaseMessaging> firebaseMessagingMockedStatic = Mockito.mockStatic(
+                FirebaseMessaging.class)) {
+            firebaseMessagingMockedStatic.when(FirebaseMessaging::getInstance).thenReturn(mockFirebaseMessaging);
+            when(mockFirebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(batchResponse);
+
+            notificationService.sendMulticast(List.of(deviceFcmToken), NotificationType.EXAMPLE_ALARM, notificationId);
+            notificationService.sendMulticast(List.of(deviceFcmToken), NotificationType.EXAMPLE_ALARM, notificationId);
+
+            //then
+            verify(mockFirebaseMessaging, times(1)).sendEachForMulticast(any(MulticastMessage.class));
+            verify(notificationLogService, times(1)).recordReadyNotificationLogs(any(), any(), any());
+        }
+    }
+
+    @Test
+    @Description("READY 로그 기록에 실패하면 중복 전송 방지 키를 해제하여 다시 발행된 알림을 전송")
+    void ready_log_failure_releases_send_guard() throws FirebaseMessagingException {
+        //given
+        String notificationId = UUID.randomUUID().toString();
+        DeviceFcmTokenView deviceFcmToken = getDeviceFcmToken(4L, "readyFailToken");
+        when(notificationLogService.recordReadyNotificationLogs(any(), any(), any()))
+                .thenThrow(new IllegalStateException("READY 로그 기록 실패"))
+                .thenReturn(List.of(getReadyLog(4L, notificationId)));
+
+        SendResponse successResponse = mock(SendResponse.class);
+        when(successResponse.isSuccessful()).thenReturn(true);
+        BatchResponse batchResponse = mock(BatchResponse.class);
+        when(batchResponse.getResponses()).thenReturn(List.of(successResponse));
+
+        FirebaseMessaging mockFirebaseMessaging = mock(FirebaseMessaging.class);
+
+        //when
+        try (MockedStatic<FirebaseMessaging> firebaseMessagingMockedStatic = Mockito.mockStatic(
+                FirebaseMessaging.class)) {
+            firebaseMessagingMockedStatic.when(FirebaseMessaging::getInstance).thenReturn(mockFirebaseMessaging);
+            when(mockFirebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(batchResponse);
+
+            assertThatThrownBy(() -> notificationService.sendMulticast(
+                    List.of(deviceFcmToken), NotificationType.EXAMPLE_ALARM, notificationId))
+                    .isInstanceOf(IllegalStateException.class);
+            notificationService.sendMulticast(List.of(deviceFcmToken), NotificationType.EXAMPLE_ALARM, notificationId);
+
+            //then
+            verify(mockFirebaseMessaging, times(1)).sendEachForMulticast(any(MulticastMessage.class));
+            verify(notificationLogService, times(2)).recordReadyNotificationLogs(any(), any(), any());
+        }
+    }
+
     // 유틸 메서드
+    private RetryTask captureRetryTask() {
+        ArgumentCaptor<RetryTask> captor = ArgumentCaptor.forClass(RetryTask.class);
+        verify(notificationRetryQueue, times(1)).offer(captor.capture());
+        return captor.getValue();
+    }
+
     private FirebaseMessagingException getException(MessagingErrorCode code) {
         FirebaseMessagingException mockException = Mockito.mock(FirebaseMessagingException.class);
         when(mockException.getMessagingErrorCode()).thenReturn(code);
         return mockException;
     }
 
-    private DeviceFcmToken getDeviceFcmToken(String token) {
-        DeviceFcmToken deviceFcmToken = Mockito.mock(DeviceFcmToken.class);
-        when(deviceFcmToken.getId()).thenReturn(1L);
-        when(deviceFcmToken.getFcmToken()).thenReturn(token);
-        return deviceFcmToken;
+    private DeviceFcmTokenView getDeviceFcmToken(Long id, String token) {
+        return new DeviceFcmTokenView(id, token, DeviceType.IOS, true);
+    }
+
+    private NotificationLog getReadyLog(Long deviceFcmTokenId) {
+        return getReadyLog(deviceFcmTokenId, UUID.randomUUID().toString());
+    }
+
+    private NotificationLog getReadyLog(Long deviceFcmTokenId, String notificationId) {
+        return NotificationLog.record(deviceFcmTokenId, notificationId, deviceFcmTokenId, "payloadHash", null,
+                NotificationStatus.READY);
+    }
+
+    private NotificationDelivery getDelivery(Long deviceFcmTokenId, String token) {
+        return new NotificationDelivery(getDeviceFcmToken(deviceFcmTokenId, token),
+                NotificationContent.from(NotificationType.EXAMPLE_ALARM), getMessage(token),
+                getReadyLog(deviceFcmTokenId));
     }
 
     private Message getMessage(String token) {
@@ -120,7 +390,6 @@ class NotificationServiceTest {
     }
 
     @Configuration
-    @EnableRetry
     static class TestConfig {
 
         @Bean
@@ -129,39 +398,36 @@ class NotificationServiceTest {
         }
 
         @Bean
-        public DeviceFcmTokenRepository getDeviceFcmTokenRepository() {
-            return mock(DeviceFcmTokenRepository.class);
+        public DeviceFcmTokenCache getDeviceFcmTokenCache() {
+            return mock(DeviceFcmTokenCache.class);
         }
 
         @Bean
-        public UserRepository getUserRepository() {
-            return mock(UserRepository.class);
+        public DeviceFcmTokenInvalidationBuffer getDeviceFcmTokenInvalidationBuffer() {
+            return mock(DeviceFcmTokenInvalidationBuffer.class);
         }
 
         @Bean
-        public NotificationService getNotificationService() {
-            return new NotificationService(getNotificationLogService(),
-                    getDeviceFcmTokenRepository(), getUserRepository());
+        public NotificationRetryQueue getNotificationRetryQueue() {
+            return mock(NotificationRetryQueue.class);
         }
 
-    }
-
-    static class TestNotificationService extends NotificationService {
-        public TestNotificationService(
-                NotificationLogService notificationLogService,
-                DeviceFcmTokenRepository deviceFcmTokenRepository,
-                UserRepository userRepository) {
-            super(notificationLogService, deviceFcmTokenRepository, userRepository);
+        @Bean
+        public NotificationMetrics getNotificationMetrics() {
+            return new NotificationMetrics(new SimpleMeterRegistry());
         }
 
-        @Override
-        @org.springframework.retry.annotation.Retryable(
-                retryFor = RetryableAlarmException.class,
-                maxAttempts = 2,
-                backoff = @org.springframework.retry.annotation.Backoff(delay = 10, multiplier = 2.0, maxDelay = 50)
-        )
-        public void sendMessage(DeviceFcmToken deviceFcmToken, Message message, NotificationLog notificationLog) {
-            super.sendMessage(deviceFcmToken, message, notificationLog);
+        @Bean
+        public NotificationService getNotificationService() {
+            return new NotificationService(getNotificationLogService(), getDeviceFcmTokenCache(),
+                    getDeviceFcmTokenInvalidationBuffer(), new NotificationSendProperties(SendMode.SINGLE, 500), getNotificationRetryQueue(),
+                    new NotificationRetryProperties(RetryQueueType.IN_MEMORY, 2, Duration.ofSeconds(5), 2.0,
+                            Duration.ofMillis(100), 500, Duration.ofMillis(10), 512, 4),
+                    new FcmClient(0, 0, new UnlimitedFcmRateLimiter(), new FcmCircuitBreaker(
+                            new FcmCircuitBreakerProperties(false, Duration.ofSeconds(10), 10, 0.5, 20,
+                                    Duration.ofSeconds(30), 3)), getNotificationMetrics()),
+                    new InMemoryNotificationSendGuard(new NotificationSendGuardProperties(true, GuardBackend.IN_MEMORY,
+                            Duration.ofMinutes(1), Duration.ofHours(24), 1000)), getNotificationMetrics());
         }
 
     }
@@ -0,0 +1,93 @@
+package com.example.fcmretryplayground.application.notification.circuitbreaker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.fcmretryplayground.application.notification.circuitbreaker.FcmCircuitBreaker.State;
+import com.example.fcmretryplayground.config.FcmCircuitBreakerProperties;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+
+class FcmCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @Test
+    @Description("window 안의 일시 장애 비율이 임계치 이상이면 OPEN 되어 호출을 거부한다")
+    void opens_when_failure_rate_exceeds_threshold() {
+        //given
+        FcmCircuitBreaker circuitBreaker = new FcmCircuitBreaker(getProperties(), now::get);
+
+        //when
+        circuitBreaker.record(10, 4);
+        State beforeThreshold = circuitBreaker.getState();
+        circuitBreaker.record(10, 6);
+
+        //then
+        assertThat(beforeThreshold).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @Description("openDuration 이 지나면 HALF_OPEN 으로 시험 호출을 허용하고, 모두 성공하면 CLOSED 로 돌아간다")
+    void half_open_probes_close_circuit() {
+        //given
+        FcmCircuitBreaker circuitBreaker = new FcmCircuitBreaker(getProperties(), now::get);
+        circuitBreaker.record(20, 20);
+
+        //when
+        now.addAndGet(Duration.ofSeconds(30).toMillis());
+        boolean first = circuitBreaker.tryAcquire();
+        boolean second = circuitBreaker.tryAcquire();
+        boolean exceeded = circuitBreaker.tryAcquire();
+        circuitBreaker.record(1, 0);
+        circuitBreaker.record(1, 0);
+
+        //then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(exceeded).isFalse();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @Description("HALF_OPEN 시험 호출이 일시 장애로 실패하면 다시 OPEN 된다")
+    void half_open_failure_reopens_circuit() {
+        //given
+        FcmCircuitBreaker circuitBreaker = new FcmCircuitBreaker(getProperties(), now::get);
+        circuitBreaker.record(20, 20);
+        now.addAndGet(Duration.ofSeconds(30).toMillis());
+
+        //when
+        circuitBreaker.tryAcquire();
+        circuitBreaker.record(1, 1);
+
+        //then
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @Description("isOpen 은 openDuration 동안만 true 이며 상태를 바꾸지 않는다")
+    void is_open_until_open_duration_elapses() {
+        //given
+        FcmCircuitBreaker circuitBreaker = new FcmCircuitBreaker(getProperties(), now::get);
+        circuitBreaker.record(20, 20);
+
+        //when
+        boolean open = circuitBreaker.isOpen();
+        now.addAndGet(Duration.ofSeconds(30).toMillis());
+        boolean elapsed = circuitBreaker.isOpen();
+
+        //then
+        assertThat(open).isTrue();
+        assertThat(elapsed).isFalse();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    private FcmCircuitBreakerProperties getProperties() {
+        return new FcmCircuitBreakerProperties(true, Duration.ofSeconds(10), 10, 0.5, 20, Duration.ofSeconds(30), 2);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.fcmretryplayground.application.notification.coalescing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+
+class InMemoryNotificationCoalescingBufferTest {
+
+    private static final long DUE_AT = 1_005_000L;
+
+    @Test
+    @Description("window 동안 들어온 같은 사용자의 알림은 window 가 끝날 때 한 묶음으로 꺼낸다")
+    void merge_burst_until_window_end() {
+        //given
+        InMemoryNotificationCoalescingBuffer buffer = new InMemoryNotificationCoalescingBuffer();
+        buffer.add(NotificationType.EXAMPLE_ALARM, 1L, "n1", DUE_AT);
+        buffer.add(NotificationType.EXAMPLE_ALARM, 1L, "n2", DUE_AT);
+        buffer.add(NotificationType.EXAMPLE_ALARM, 1L, "n3", DUE_AT);
+        buffer.add(NotificationType.EXAMPLE_ALARM, 2L, "n4", DUE_AT + 5_000);
+
+        //when
+        List<CoalescedNotification> early = buffer.pollDue(DUE_AT - 1, 10);
+        List<CoalescedNotification> due = buffer.pollDue(DUE_AT, 10);
+
+        //then
+        assertThat(early).isEmpty();
+        assertThat(due).containsExactly(new CoalescedNotification(NotificationType.EXAMPLE_ALARM, 1L, 3, DUE_AT));
+        assertThat(buffer.size()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("같은 notificationId 가 다시 전달되어도 한 번만 센다")
+    void redelivered_notification_counted_once() {
+        //given
+        InMemoryNotificationCoalescingBuffer buffer = new InMemoryNotificationCoalescingBuffer();
+        buffer.add(NotificationType.EXAMPLE_ALARM, 1L, "n1", DUE_AT);
+        buffer.add(NotificationType.EXAMPLE_ALARM, 1L, "n1", DUE_AT);
+        buffer.add(NotificationType.EXAMPLE_ALARM, 1L, "n2", DUE_AT);
+
+        //when
+        List<CoalescedNotification> due = buffer.pollDue(DUE_AT, 10);
+
+        //then
+        assertThat(due).extracting(CoalescedNotification::count).containsExactly(2);
+    }
+}
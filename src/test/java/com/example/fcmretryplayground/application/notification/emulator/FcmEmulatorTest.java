@@ -0,0 +1,84 @@
+package com.example.fcmretryplayground.application.notification.emulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import com.example.fcmretryplayground.config.FcmEmulatorProperties;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+
+class FcmEmulatorTest {
+
+    @Test
+    @Description("오류를 주입하지 않으면 FirebaseMessaging 전송이 에뮬레이터의 메시지 ID 로 성공한다")
+    void send_succeeds_through_emulator() throws Exception {
+        //given
+        FcmEmulator fcmEmulator = new FcmEmulator(getProperties(Map.of()));
+        fcmEmulator.start();
+        FirebaseApp firebaseApp = initializeApp(fcmEmulator);
+
+        try {
+            //when
+            String messageId = FirebaseMessaging.getInstance(firebaseApp).send(getMessage());
+
+            //then
+            assertThat(messageId).isEqualTo("projects/fcm-emulator/messages/1");
+            assertThat(fcmEmulator.getRequests()).isEqualTo(1);
+        } finally {
+            firebaseApp.delete();
+            fcmEmulator.stop();
+        }
+    }
+
+    @Test
+    @Description("주입한 오류는 SDK 에서 해당 MessagingErrorCode 의 FirebaseMessagingException 으로 전달된다")
+    void injected_error_is_mapped_to_messaging_error_code() throws Exception {
+        //given
+        FcmEmulator fcmEmulator = new FcmEmulator(getProperties(Map.of(MessagingErrorCode.QUOTA_EXCEEDED, 1.0)));
+        fcmEmulator.start();
+        FirebaseApp firebaseApp = initializeApp(fcmEmulator);
+
+        try {
+            //when
+            FirebaseMessagingException exception = catchThrowableOfType(
+                    () -> FirebaseMessaging.getInstance(firebaseApp).send(getMessage()),
+                    FirebaseMessagingException.class);
+
+            //then
+            assertThat(exception.getMessagingErrorCode()).isEqualTo(MessagingErrorCode.QUOTA_EXCEEDED);
+            assertThat(fcmEmulator.getInjectedErrors()).containsEntry(MessagingErrorCode.QUOTA_EXCEEDED, 1L);
+        } finally {
+            firebaseApp.delete();
+            fcmEmulator.stop();
+        }
+    }
+
+    private FirebaseApp initializeApp(FcmEmulator fcmEmulator) {
+        FirebaseOptions options = FirebaseOptions.builder()
+                .setCredentials(GoogleCredentials.create(new AccessToken("fcm-emulator", null)))
+                .setProjectId(fcmEmulator.getProjectId())
+                .setHttpTransport(fcmEmulator.httpTransport())
+                .build();
+        return FirebaseApp.initializeApp(options, UUID.randomUUID().toString());
+    }
+
+    private Message getMessage() {
+        return Message.builder().setToken("fcm-token").build();
+    }
+
+    private FcmEmulatorProperties getProperties(Map<MessagingErrorCode, Double> errorRates) {
+        return new FcmEmulatorProperties(0, "fcm-emulator", 4, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1),
+                errorRates);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.fcmretryplayground.application.notification.hygiene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.fcmretryplayground.application.notification.FcmClient;
+import com.example.fcmretryplayground.config.DeviceFcmTokenHealthProperties;
+import com.example.fcmretryplayground.config.SchedulingConfig;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenHealthBatch;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenHealthRepository;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenInvalidationBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+class DeviceFcmTokenHealthSweeperTest {
+
+    @Test
+    @Description("토큰 점검이 진행되는 동안에도 짧은 주기 스케줄 작업은 계속 실행된다")
+    void short_interval_jobs_keep_firing_during_sweep() throws InterruptedException {
+        //given
+        CountDownLatch sweepStarted = new CountDownLatch(1);
+        CountDownLatch releaseSweep = new CountDownLatch(1);
+        DeviceFcmTokenHealthRepository repository = mock(DeviceFcmTokenHealthRepository.class);
+        when(repository.claim(anyString(), anyInt())).thenAnswer(invocation -> {
+            sweepStarted.countDown();
+            releaseSweep.await();
+            return new DeviceFcmTokenHealthBatch(0L, List.of());
+        });
+        ThreadPoolTaskExecutor maintenanceExecutor =
+                (ThreadPoolTaskExecutor) new SchedulingConfig().maintenanceExecutor();
+        maintenanceExecutor.initialize();
+        DeviceFcmTokenHealthSweeper sweeper = new DeviceFcmTokenHealthSweeper(repository,
+                mock(DeviceFcmTokenInvalidationBuffer.class), mock(FcmClient.class),
+                new DeviceFcmTokenHealthProperties(true, 500, 100, Duration.ofHours(3)), maintenanceExecutor);
+        // Spring 기본 스케줄러와 같이 스레드 1개
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        CountDownLatch shortJobRuns = new CountDownLatch(5);
+
+        try {
+            //when
+            scheduler.schedule(sweeper::sweep, Instant.now());
+            assertThat(sweepStarted.await(1, TimeUnit.SECONDS)).isTrue();
+            scheduler.scheduleWithFixedDelay(shortJobRuns::countDown, Duration.ofMillis(10));
+
+            //then
+            assertThat(shortJobRuns.await(1, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            releaseSweep.countDown();
+            scheduler.shutdown();
+            maintenanceExecutor.shutdown();
+        }
+    }
+}
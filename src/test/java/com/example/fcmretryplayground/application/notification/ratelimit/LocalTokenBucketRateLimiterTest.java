@@ -0,0 +1,108 @@
+package com.example.fcmretryplayground.application.notification.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.fcmretryplayground.config.FcmRateLimitProperties;
+import com.example.fcmretryplayground.config.FcmRateLimitProperties.RateLimitBackend;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationPriority;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+
+class LocalTokenBucketRateLimiterTest {
+
+    @Test
+    @Description("할당량 초과 시 rate 를 곱셈으로 줄이고, 성공 시 덧셈으로 늘린다")
+    void aimd_adjusts_rate() {
+        //given
+        LocalTokenBucketRateLimiter rateLimiter = new LocalTokenBucketRateLimiter(getProperties(Duration.ZERO));
+
+        //when
+        rateLimiter.onThrottled();
+        double decreased = rateLimiter.currentRate();
+        rateLimiter.onSuccess();
+
+        //then
+        assertThat(decreased).isEqualTo(50);
+        assertThat(rateLimiter.currentRate()).isEqualTo(60);
+    }
+
+    @Test
+    @Description("조정 간격 안에서는 연속된 실패에도 한 번만 줄인다")
+    void throttled_once_within_adjust_interval() {
+        //given
+        LocalTokenBucketRateLimiter rateLimiter = new LocalTokenBucketRateLimiter(getProperties(Duration.ofMinutes(1)));
+
+        //when
+        rateLimiter.onThrottled();
+        rateLimiter.onThrottled();
+        rateLimiter.onThrottled();
+
+        //then
+        assertThat(rateLimiter.currentRate()).isEqualTo(50);
+    }
+
+    @Test
+    @Description("조정 간격 안에서 성공으로 늘린 직후의 할당량 초과도 rate 를 줄인다")
+    void throttled_after_success_within_adjust_interval() {
+        //given
+        LocalTokenBucketRateLimiter rateLimiter = new LocalTokenBucketRateLimiter(getProperties(Duration.ofMinutes(1)));
+        rateLimiter.onSuccess();
+
+        //when
+        rateLimiter.onThrottled();
+
+        //then
+        assertThat(rateLimiter.currentRate()).isEqualTo(55);
+    }
+
+    @Test
+    @Description("rate 를 줄인 뒤 조정 간격 안에서는 성공해도 늘리지 않는다")
+    void increase_held_off_after_throttled() {
+        //given
+        LocalTokenBucketRateLimiter rateLimiter = new LocalTokenBucketRateLimiter(getProperties(Duration.ofMinutes(1)));
+        rateLimiter.onThrottled();
+
+        //when
+        rateLimiter.onSuccess();
+
+        //then
+        assertThat(rateLimiter.currentRate()).isEqualTo(50);
+    }
+
+    @Test
+    @Description("rate 는 minRate 아래로 내려가지 않는다")
+    void rate_is_bounded_by_min_rate() {
+        //given
+        LocalTokenBucketRateLimiter rateLimiter = new LocalTokenBucketRateLimiter(getProperties(Duration.ZERO));
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.onThrottled();
+        }
+
+        //then
+        assertThat(rateLimiter.currentRate()).isEqualTo(10);
+    }
+
+    @Test
+    @Description("공유 허용량을 모두 사용해도 HIGH 는 예약 허용량으로 대기 없이 전송한다")
+    void high_priority_uses_reserved_share() {
+        //given
+        LocalTokenBucketRateLimiter rateLimiter = new LocalTokenBucketRateLimiter(getProperties(Duration.ZERO), 0.2);
+        rateLimiter.acquire(80, NotificationPriority.NORMAL);
+
+        //when
+        long startNanos = System.nanoTime();
+        rateLimiter.acquire(20, NotificationPriority.HIGH);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        //then
+        assertThat(elapsedMillis).isLessThan(50);
+    }
+
+    private FcmRateLimitProperties getProperties(Duration adjustInterval) {
+        return new FcmRateLimitProperties(true, RateLimitBackend.LOCAL, 100, 10, 1000, 1.0, 10, 0.5, adjustInterval);
+    }
+}
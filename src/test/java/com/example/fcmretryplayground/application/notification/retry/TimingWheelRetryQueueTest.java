@@ -0,0 +1,75 @@
+package com.example.fcmretryplayground.application.notification.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView;
+import com.example.fcmretryplayground.domain.notification.DeviceType;
+import com.example.fcmretryplayground.domain.notification.NotificationContent;
+import com.google.firebase.messaging.MessagingErrorCode;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+
+class TimingWheelRetryQueueTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    @Description("기한이 된 작업만 꺼낸다")
+    void poll_only_due_tasks() {
+        //given
+        TimingWheelRetryQueue queue = new TimingWheelRetryQueue(100, 8, START);
+        queue.offer(getTask(1L, START + 500));
+        queue.offer(getTask(2L, START + 5_000));
+
+        //when
+        List<RetryTask> early = queue.pollDue(START + 400, 10);
+        List<RetryTask> due = queue.pollDue(START + 600, 10);
+
+        //then
+        assertThat(early).isEmpty();
+        assertThat(due).extracting(RetryTask::notificationLogId).containsExactly(1L);
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("휠을 한 바퀴 이상 넘는 기한도 해당 라운드가 되어야 꺼낸다")
+    void poll_task_beyond_one_rotation() {
+        //given
+        TimingWheelRetryQueue queue = new TimingWheelRetryQueue(100, 8, START);
+        queue.offer(getTask(1L, START + 2_000));
+
+        //when
+        List<RetryTask> firstRound = queue.pollDue(START + 1_000, 10);
+        List<RetryTask> due = queue.pollDue(START + 2_100, 10);
+
+        //then
+        assertThat(firstRound).isEmpty();
+        assertThat(due).extracting(RetryTask::notificationLogId).containsExactly(1L);
+    }
+
+    @Test
+    @Description("maxSize 를 넘는 작업은 다음 조회에서 꺼낸다")
+    void poll_respects_max_size() {
+        //given
+        TimingWheelRetryQueue queue = new TimingWheelRetryQueue(100, 8, START);
+        queue.offer(getTask(1L, START + 100));
+        queue.offer(getTask(2L, START + 100));
+        queue.offer(getTask(3L, START + 200));
+
+        //when
+        List<RetryTask> first = queue.pollDue(START + 300, 2);
+        List<RetryTask> second = queue.pollDue(START + 300, 2);
+
+        //then
+        assertThat(first).extracting(RetryTask::notificationLogId).containsExactly(1L, 2L);
+        assertThat(second).extracting(RetryTask::notificationLogId).containsExactly(3L);
+        assertThat(queue.size()).isZero();
+    }
+
+    private RetryTask getTask(Long notificationLogId, long dueAtMillis) {
+        return new RetryTask(notificationLogId, "notificationId", 2, MessagingErrorCode.UNAVAILABLE,
+                new DeviceFcmTokenView(notificationLogId, "token", DeviceType.IOS, true),
+                new NotificationContent("title", "body"), dueAtMillis);
+    }
+}
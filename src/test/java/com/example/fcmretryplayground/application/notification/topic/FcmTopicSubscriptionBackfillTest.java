@@ -0,0 +1,73 @@
+package com.example.fcmretryplayground.application.notification.topic;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.fcmretryplayground.application.notification.FcmClient;
+import com.example.fcmretryplayground.common.FcmCircuitOpenException;
+import com.example.fcmretryplayground.config.NotificationTopicProperties;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenHealthBatch;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenHealthRepository;
+import com.example.fcmretryplayground.domain.notification.DeviceFcmTokenView;
+import com.example.fcmretryplayground.domain.notification.DeviceType;
+import com.example.fcmretryplayground.domain.notification.handler.NotificationType;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.TopicManagementResponse;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+class FcmTopicSubscriptionBackfillTest {
+
+    private final DeviceFcmTokenHealthRepository repository = mock(DeviceFcmTokenHealthRepository.class);
+    private final FcmClient fcmClient = mock(FcmClient.class);
+    private final FcmTopicSubscriptionBackfill backfill = new FcmTopicSubscriptionBackfill(repository, fcmClient,
+            new NotificationTopicProperties(true, 1000, Duration.ofSeconds(1), true, Duration.ofMinutes(1)),
+            new TaskExecutorAdapter(Runnable::run));
+
+    @Test
+    @Description("수신 동의한 ACTIVE 토큰만 모든 topic 에 다시 구독")
+    void subscribes_opted_in_tokens_to_all_topics() throws FirebaseMessagingException {
+        //given
+        DeviceFcmTokenHealthBatch batch = new DeviceFcmTokenHealthBatch(0L, List.of(
+                new DeviceFcmTokenView(1L, "optInToken", DeviceType.IOS, true),
+                new DeviceFcmTokenView(2L, "optOutToken", DeviceType.ANDROID, false)));
+        when(repository.claim(anyString(), anyInt()))
+                .thenReturn(batch)
+                .thenReturn(new DeviceFcmTokenHealthBatch(2L, List.of()));
+        when(fcmClient.subscribeToTopic(any(), anyString())).thenReturn(mock(TopicManagementResponse.class));
+
+        //when
+        backfill.backfill();
+
+        //then
+        for (String topic : NotificationType.broadcastTopics()) {
+            verify(fcmClient).subscribeToTopic(List.of("optInToken"), topic);
+        }
+        verify(repository, never()).rewind(anyString(), any());
+    }
+
+    @Test
+    @Description("서킷이 열리면 진행 위치를 되돌리고 보정을 중단")
+    void rewinds_checkpoint_when_circuit_open() throws FirebaseMessagingException {
+        //given
+        DeviceFcmTokenHealthBatch batch = new DeviceFcmTokenHealthBatch(0L, List.of(
+                new DeviceFcmTokenView(1L, "optInToken", DeviceType.IOS, true)));
+        when(repository.claim(anyString(), anyInt())).thenReturn(batch);
+        when(fcmClient.subscribeToTopic(any(), anyString())).thenThrow(new FcmCircuitOpenException());
+
+        //when
+        backfill.backfill();
+
+        //then
+        verify(repository).rewind(anyString(), eq(batch));
+    }
+}
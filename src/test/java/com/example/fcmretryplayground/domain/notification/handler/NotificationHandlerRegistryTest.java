@@ -0,0 +1,43 @@
+package com.example.fcmretryplayground.domain.notification.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+
+class NotificationHandlerRegistryTest {
+
+    @Test
+    @Description("알림 종류와 payload 타입으로 핸들러를 찾는다")
+    void finds_handler_by_type_and_payload() {
+        //given
+        ExampleNotificationHandler handler = new ExampleNotificationHandler();
+        NotificationHandlerRegistry registry = new NotificationHandlerRegistry(List.of(handler));
+
+        //when
+        NotificationHandler<NotificationPayload> found = registry.get(NotificationType.EXAMPLE_ALARM,
+                new ExamplePayload(new Sender(1L, "sender"), List.of()));
+
+        //then
+        assertThat(found).isSameAs(handler);
+        assertThatThrownBy(() -> registry.get(NotificationType.EXAMPLE_ALARM, "payload"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Description("같은 알림 종류와 payload 타입에 핸들러가 둘 이상이면 등록에 실패한다")
+    void duplicated_handler_fails() {
+        assertThatThrownBy(() -> new NotificationHandlerRegistry(
+                List.of(new ExampleNotificationHandler(), new ExampleNotificationHandler())))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @Description("핸들러가 없는 알림 종류가 있으면 등록에 실패한다")
+    void missing_handler_fails() {
+        assertThatThrownBy(() -> new NotificationHandlerRegistry(List.of()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}